@@ -0,0 +1,51 @@
+package com.example.rockpaperscissors;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.prometheus.metrics.model.registry.PrometheusRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What timing a request costs GameService: a clock read to start, and the clock read and timer
+ * record at the end, against a Prometheus registry set up like the application's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameMetricsBenchmark {
+
+    private final GameMetrics metrics = new GameMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT,
+            new PrometheusRegistry(), new CoarseClock(10)),
+            new InMemoryGameStore(), new GameEventLogger(null, 1.0, 16));
+
+    // The two clock reads alone, which any timing needs
+    @Benchmark
+    public long clock() {
+        return System.nanoTime() - System.nanoTime();
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        metrics.record(GameMetrics.Operation.MOVE, System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordRequestContended() {
+        metrics.record(GameMetrics.Operation.MOVE, System.nanoTime());
+    }
+}
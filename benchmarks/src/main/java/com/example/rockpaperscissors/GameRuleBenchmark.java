@@ -0,0 +1,75 @@
+package com.example.rockpaperscissors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a round: StandardGameRule.determineWinner on its own, the switch plus the string comparison
+ * makeMove used to do, and a lookup in the precomputed OutcomeTable. Each invocation resolves all nine
+ * move pairs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRuleBenchmark {
+
+    private static final int PAIRS = 9;
+
+    private final GameRule rule = new StandardGameRule();
+    private final OutcomeTable table = OutcomeTable.of(rule);
+    private final Move[] moves1 = new Move[PAIRS];
+    private final Move[] moves2 = new Move[PAIRS];
+
+    public GameRuleBenchmark() {
+        Move[] values = Move.values();
+        for (int i = 0; i < PAIRS; i++) {
+            moves1[i] = values[i / 3];
+            moves2[i] = values[i % 3];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void determineWinner(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(rule.determineWinner(moves1[i], moves2[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void switchRule(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            String winner = rule.determineWinner(moves1[i], moves2[i]);
+            if ("Player1".equals(winner)) {
+                blackhole.consume(Outcome.PLAYER1_WINS);
+            } else if ("Player2".equals(winner)) {
+                blackhole.consume(Outcome.PLAYER2_WINS);
+            } else {
+                blackhole.consume(Outcome.TIE);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void outcomeTable(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(table.resolve(moves1[i], moves2[i]));
+        }
+    }
+}
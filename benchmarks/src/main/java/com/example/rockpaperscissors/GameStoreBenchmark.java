@@ -0,0 +1,99 @@
+package com.example.rockpaperscissors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full game lifecycle against the store, the way GameController drives it: create, join, both moves
+ * and a final read. Runs single-threaded and with several threads sharing one store.
+ *
+ * The store is capped so that eviction keeps it at a steady size instead of growing for the whole run.
+ * The persistence parameter runs the same operations with the write-ahead log in a temporary
+ * directory and the given fsync policy, which shows what durability adds to each update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStoreBenchmark {
+
+    private static final int MAX_GAMES = 100_000;
+
+    private final OutcomeTable outcomes = OutcomeTable.of(new StandardGameRule());
+    private final GameIdGenerator idGenerator = new SnowflakeGameIdGenerator(1);
+    private InMemoryGameStore store;
+    private Path logDirectory;
+
+    @Param({"off", "interval", "always"})
+    public String persistence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Duration ttl = Duration.ofMinutes(10);
+        GameLog log = null;
+        if (!persistence.equals("off")) {
+            logDirectory = Files.createTempDirectory("game-log");
+            log = new GameLog(logDirectory, 64 << 20, GameLog.FsyncPolicy.valueOf(persistence.toUpperCase()), 10);
+        }
+        store = new InMemoryGameStore(new GameEvictionPolicy(ttl, ttl, ttl, MAX_GAMES), GameArchiver.NONE, 1000, log);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        if (logDirectory != null) {
+            try (Stream<Path> files = Files.walk(logDirectory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Game lifecycle() {
+        return playGame();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Game lifecycleContended() {
+        return playGame();
+    }
+
+    @Benchmark
+    public Game get() {
+        return store.get("game-missing");
+    }
+
+    private Game playGame() {
+        String id = idGenerator.nextId();
+        store.save(new Game(id, "Player1"));
+        store.update(id, game -> game.join("Player2"));
+        store.update(id, game -> game.play(true, Move.ROCK, outcomes));
+        store.update(id, game -> game.play(false, Move.PAPER, outcomes));
+        return store.get(id);
+    }
+}
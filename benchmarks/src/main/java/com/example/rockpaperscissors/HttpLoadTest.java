@@ -0,0 +1,156 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * HTTP load test comparing Tomcat's platform thread pool with virtual threads and with WebFlux on Netty.
+ *
+ * For each mode the application is started in-process on a random port, then a fixed number of
+ * concurrent clients play complete games (create, join, two moves, read) for the given duration.
+ * Throughput and request latency percentiles are printed per mode.
+ *
+ * <pre>
+ *   java -cp target/benchmarks.jar com.example.rockpaperscissors.HttpLoadTest [clients] [seconds] [modes]
+ * </pre>
+ *
+ * Defaults are 1000 clients for 20 seconds in "platform", "virtual" and "reactive" mode.
+ */
+public class HttpLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int clients = (args.length > 0) ? Integer.parseInt(args[0]) : 1000;
+        int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 20;
+        String[] modes = (args.length > 2) ? args[2].split(",") : new String[] {"platform", "virtual", "reactive"};
+
+        for (String mode : modes) {
+            run(mode, clients, seconds);
+        }
+    }
+
+    private static void run(String mode, int clients, int seconds) throws Exception {
+        boolean virtual = mode.equals("virtual");
+        ConfigurableApplicationContext context = SpringApplication.run(RockPaperScissorsApplication.class,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.main.web-application-type=" + (mode.equals("reactive") ? "reactive" : "servlet"),
+                "--game.events.level=OFF",
+                "--game.rate-limit.player.per-second=0",
+                "--game.rate-limit.address.per-second=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN");
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/games";
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            // Warm up the JIT before measuring
+            drive(client, baseUrl, Math.min(clients, 50), System.nanoTime() + Duration.ofSeconds(5).toNanos());
+
+            long start = System.nanoTime();
+            long[] latencies = drive(client, baseUrl, clients, start + Duration.ofSeconds(seconds).toNanos());
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-8s clients=%d requests=%d throughput=%.0f req/s p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    mode, clients, latencies.length, latencies.length / elapsedSeconds,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    percentile(latencies, 1.0));
+        } finally {
+            context.close();
+        }
+    }
+
+    // Runs the clients until the deadline and returns every request's latency in nanoseconds
+    private static long[] drive(HttpClient client, String baseUrl, int clients, long deadline) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LatencyRecorder>> results = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                results.add(executor.submit(() -> {
+                    LatencyRecorder recorder = new LatencyRecorder();
+                    while (System.nanoTime() < deadline) {
+                        playGame(client, baseUrl, recorder);
+                    }
+                    return recorder;
+                }));
+            }
+            LatencyRecorder all = new LatencyRecorder();
+            for (Future<LatencyRecorder> result : results) {
+                all.addAll(result.get());
+            }
+            return all.toArray();
+        }
+    }
+
+    private static void playGame(HttpClient client, String baseUrl, LatencyRecorder recorder) throws Exception {
+        String created = send(client, post(baseUrl, "{\"name\":\"Player1\"}"), recorder);
+        // The body is {"id":"game-..."}
+        String gameId = created.substring(created.indexOf("game-"), created.lastIndexOf('"'));
+        send(client, post(baseUrl + "/" + gameId + "/join", "{\"name\":\"Player2\"}"), recorder);
+        send(client, post(baseUrl + "/" + gameId + "/move", "{\"name\":\"Player1\",\"move\":\"ROCK\"}"), recorder);
+        send(client, post(baseUrl + "/" + gameId + "/move", "{\"name\":\"Player2\",\"move\":\"PAPER\"}"), recorder);
+        send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/" + gameId)).GET().build(), recorder);
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String send(HttpClient client, HttpRequest request, LatencyRecorder recorder) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.add(System.nanoTime() - start);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    // Growable array of latencies, owned by one client
+    private static final class LatencyRecorder {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LatencyRecorder other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
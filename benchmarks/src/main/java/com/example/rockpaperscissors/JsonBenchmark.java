@@ -0,0 +1,62 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the two response bodies the API returns most: a game's state and an error, and
+ * serving a finished game's state from {@link GameResponseCache} instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private final ObjectWriter writer = new ObjectMapper().writer();
+    private final Game waitingGame = new Game("game-0RLVm7T0Sjw", "Player1");
+    private final Game finishedGame = new Game("game-0RLVm7T0Sjx", "Player1");
+    private final ErrorResponse error = new ErrorResponse("Game not found", 404);
+    private final GameResponseCache cache = new GameResponseCache(writer);
+
+    public JsonBenchmark() {
+        OutcomeTable outcomes = OutcomeTable.of(new StandardGameRule());
+        finishedGame.join("Player2");
+        finishedGame.play(true, Move.ROCK, outcomes);
+        finishedGame.play(false, Move.PAPER, outcomes);
+    }
+
+    @Benchmark
+    public byte[] waitingGame() throws JsonProcessingException {
+        return writer.writeValueAsBytes(waitingGame);
+    }
+
+    @Benchmark
+    public byte[] finishedGame() throws JsonProcessingException {
+        return writer.writeValueAsBytes(finishedGame);
+    }
+
+    @Benchmark
+    public byte[] cachedFinishedGame() {
+        return cache.get(finishedGame).json();
+    }
+
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return writer.writeValueAsBytes(error);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rockpaperscissors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a move: upper-casing it and looking it up in a HashMap, as GameVariant used to, against
+ * the allocation-free {@link MoveLookup}, for a valid move, an invalid one and a long junk string.
+ * Run with {@code -prof gc} to see the allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveLookupBenchmark {
+
+    @Param({"scissors", "LIZARD", "junk"})
+    public String input;
+
+    private final GameVariant classic = GameVariant.CLASSIC;
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private String move;
+
+    public MoveLookupBenchmark() {
+        for (int i = 0; i < classic.size(); i++) {
+            indexes.put(classic.moveAt(i), i);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        move = input.equals("junk") ? "x".repeat(200) : input;
+    }
+
+    @Benchmark
+    public int upperCaseHashMap() {
+        Integer index = indexes.get(move.toUpperCase(Locale.ROOT));
+        return (index == null) ? -1 : index;
+    }
+
+    @Benchmark
+    public int moveLookup() {
+        return classic.indexOf(move);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rockpaperscissors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking a rate limit: a key that is always let through, a key that is always refused, and the
+ * same admitted key from four threads contending for one bucket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private final RateLimiter unlimited = new RateLimiter(1e9, 1_000_000, 100_000);
+    private final RateLimiter limited = new RateLimiter(1, 1, 100_000);
+    private final String address = "192.168.0." + 42;
+
+    @Benchmark
+    public long admitted() {
+        return unlimited.tryAcquire(address);
+    }
+
+    @Benchmark
+    public long refused() {
+        return limited.tryAcquire(address);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long admittedContended() {
+        return unlimited.tryAcquire(address);
+    }
+}
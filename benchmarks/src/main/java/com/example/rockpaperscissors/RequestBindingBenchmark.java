@@ -0,0 +1,57 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a move request body and writing its response, as the endpoints did with a
+ * Map&lt;String, String&gt; body and a plain string reply, and as they do now with records and
+ * Blackbird. Run with {@code -prof gc} to see the bytes allocated per request
+ * (gc.alloc.rate.norm) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBindingBenchmark {
+
+    private static final byte[] BODY = "{\"name\":\"Player1\",\"move\":\"ROCK\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String GAME_ID = "game-0RLVm7T0Sjw";
+
+    private final ObjectReader mapReader = new ObjectMapper().readerFor(new TypeReference<Map<String, String>>() {});
+    private final ObjectWriter plainWriter = new ObjectMapper().writer();
+    private final ObjectMapper blackbird = new ObjectMapper().registerModule(new BlackbirdModule());
+    private final ObjectReader recordReader = blackbird.readerFor(MoveRequest.class);
+    private final ObjectWriter recordWriter = blackbird.writer();
+
+    @Benchmark
+    public byte[] mapBody() throws IOException {
+        Map<String, String> request = mapReader.readValue(BODY);
+        return (request.get("name") == null) ? null : plainWriter.writeValueAsBytes("Move accepted for game " + GAME_ID);
+    }
+
+    @Benchmark
+    public byte[] recordBody() throws IOException {
+        MoveRequest request = recordReader.readValue(BODY);
+        return recordWriter.writeValueAsBytes(new MoveAcceptedResponse(GAME_ID, request.name()));
+    }
+}
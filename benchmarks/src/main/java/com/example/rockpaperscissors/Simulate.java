@@ -0,0 +1,53 @@
+package com.example.rockpaperscissors;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the {@link SimulationEngine} between two bot strategies on every core and prints the totals
+ * and how many rounds a minute were played.
+ *
+ * <pre>
+ *   java -cp target/benchmarks.jar com.example.rockpaperscissors.Simulate [player1] [player2] [matches] [rounds] [variant] [seed]
+ * </pre>
+ *
+ * Defaults are "markov" against "frequency", 1,000,000 matches of 100 rounds, "classic" and seed 1.
+ */
+public class Simulate {
+
+    public static void main(String[] args) {
+        List<BotStrategy> strategies = List.of(new RandomBotStrategy(), new FrequencyBotStrategy(), new MarkovBotStrategy());
+        BotStrategy player1 = strategy(strategies, (args.length > 0) ? args[0] : "markov");
+        BotStrategy player2 = strategy(strategies, (args.length > 1) ? args[1] : "frequency");
+        long matches = (args.length > 2) ? Long.parseLong(args[2]) : 1_000_000;
+        int rounds = (args.length > 3) ? Integer.parseInt(args[3]) : 100;
+        GameVariant variant = GameVariant.named((args.length > 4) ? args[4] : "classic");
+        long seed = (args.length > 5) ? Long.parseLong(args[5]) : 1;
+        if (variant == null) {
+            throw new IllegalArgumentException("Unknown game variant");
+        }
+
+        SimulationEngine engine = new SimulationEngine(ForkJoinPool.commonPool());
+        // Warm up the JIT before measuring
+        engine.run(variant.getRule(), player1, player2, 10_000, rounds, seed);
+
+        long start = System.nanoTime();
+        SimulationResult result = engine.run(variant.getRule(), player1, player2, matches, rounds, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%s vs %s, %s, %d matches of %d rounds on %d threads, seed %d%n",
+                player1.getName(), player2.getName(), variant.getName(), matches, rounds, ForkJoinPool.getCommonPoolParallelism(), seed);
+        System.out.printf("  rounds:  %s %d, %s %d, tied %d%n",
+                player1.getName(), result.getPlayer1Rounds(), player2.getName(), result.getPlayer2Rounds(), result.getTiedRounds());
+        System.out.printf("  matches: %s %d, %s %d, tied %d%n",
+                player1.getName(), result.getPlayer1Matches(), player2.getName(), result.getPlayer2Matches(), result.getTiedMatches());
+        System.out.printf("  %.2f s, %.0f million rounds/minute%n", seconds, result.getRounds() / seconds * 60 / 1e6);
+    }
+
+    private static BotStrategy strategy(List<BotStrategy> strategies, String name) {
+        return strategies.stream()
+                .filter(strategy -> strategy.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown bot strategy: " + name));
+    }
+}
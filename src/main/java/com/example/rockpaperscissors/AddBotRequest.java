@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/games/{id}/bot. The body, and the strategy in it, may be left out for a markov bot.
+ */
+public record AddBotRequest(String strategy) {
+}
@@ -0,0 +1,58 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Limits the /api requests each client address may make, before a request reaches a controller.
+ * Requests over the limit are answered with a 429 {@link ErrorResponse}; the reactive stack does
+ * the same in {@link ReactiveGameRoutes}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AddressRateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final GameEventLogger eventLogger;
+    private final ObjectMapper objectMapper;
+
+    public AddressRateLimitFilter(@Qualifier("addressRateLimiter") RateLimiter rateLimiter,
+                                  GameEventLogger eventLogger, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.eventLogger = eventLogger;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = rateLimiter.tryAcquire(request.getRemoteAddr());
+        if (wait == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        eventLogger.log(GameEventType.RATE_LIMITED, null, null, request.getRemoteAddr());
+        ResponseEntity<ErrorResponse> tooMany = RateLimiter.tooManyRequests(wait);
+        response.setStatus(tooMany.getStatusCode().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, tooMany.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), tooMany.getBody());
+    }
+}
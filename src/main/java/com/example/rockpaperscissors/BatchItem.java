@@ -0,0 +1,20 @@
+package com.example.rockpaperscissors;
+
+/**
+ * One item of a batch request: the fields of the single-game request body for the batch's
+ * {@link BatchOperation}, plus the game's ID for joins and moves.
+ */
+public record BatchItem(String id, String name, String move, Integer bestOf, String variant) {
+
+    CreateGameRequest toCreateRequest() {
+        return new CreateGameRequest(name, bestOf, variant);
+    }
+
+    JoinGameRequest toJoinRequest() {
+        return new JoinGameRequest(name);
+    }
+
+    MoveRequest toMoveRequest() {
+        return new MoveRequest(name, move);
+    }
+}
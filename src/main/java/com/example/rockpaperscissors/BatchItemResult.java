@@ -0,0 +1,22 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Outcome of one item in a batch request: the HTTP status and body the single-game endpoint would have returned.
+ */
+public class BatchItemResult {
+    private final int status;
+    private final Object body;
+
+    public BatchItemResult(int status, Object body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+}
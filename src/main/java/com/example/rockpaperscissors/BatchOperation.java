@@ -0,0 +1,11 @@
+package com.example.rockpaperscissors;
+
+/**
+ * What a batch request does with each of its items. Items carry the same fields as the
+ * single-game request body, plus "id" for operations on an existing game.
+ */
+public enum BatchOperation {
+    CREATE,
+    JOIN,
+    MOVE
+}
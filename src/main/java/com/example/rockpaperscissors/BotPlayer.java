@@ -0,0 +1,147 @@
+package com.example.rockpaperscissors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * The built-in opponent that can take the second seat of a waiting game.
+ *
+ * Every move a player makes against a bot is learned into their {@link PlayerMoveModel} for the game's
+ * variant. When a player moves against a bot, the bot's {@link BotStrategy} predicts that move from what the
+ * model knew before it, and the bot throws a move that beats the prediction, all within the same
+ * update. The bot never looks at the move it is answering. A game stores its bot as the strategy's
+ * number, so a bot game survives a restart when games are persisted.
+ *
+ * Player names come from clients, so the models are held within a memory budget: a model of N
+ * moves takes 4 * N * (N + 1) bytes of counts plus about {@value #ENTRY_OVERHEAD} bytes of objects
+ * around them and the player's name. Models are learned inside the game's update, under the
+ * store's lock, so when a new model takes them over budget a {@link Sweeper} drops the least
+ * recently used on its own thread until they are back to three quarters of it. A player whose
+ * model is dropped is simply unknown to the bot again.
+ */
+public class BotPlayer implements AutoCloseable {
+
+    public static final String NAME = "Bot";
+
+    // PlayerMoveModel (40), its two AtomicIntegerArrays (2 * 16) and their array headers (2 * 16), the
+    // map node (32) and table slot (8), and the key String (24) and its byte array header (16)
+    static final int ENTRY_OVERHEAD = 184;
+
+    private final List<BotStrategy> strategies;  // Numbered from 1 in the game's state
+    private final Map<GameVariant, Map<String, PlayerMoveModel>> models = new ConcurrentHashMap<>();
+    private final long maxModelBytes;
+    private final AtomicLong modelBytes = new AtomicLong();
+    private final Sweeper sweeper;
+
+    public BotPlayer(List<BotStrategy> strategies) {
+        this(strategies, 64L << 20);
+    }
+
+    public BotPlayer(List<BotStrategy> strategies, long maxModelBytes) {
+        this(strategies, maxModelBytes, null);
+    }
+
+    // A null executor sweeps on a thread of the sweeper's own
+    BotPlayer(List<BotStrategy> strategies, long maxModelBytes, Executor sweeps) {
+        if (strategies.isEmpty() || strategies.size() > Game.MAX_BOT) {
+            throw new IllegalArgumentException("There must be between 1 and " + Game.MAX_BOT + " bot strategies");
+        }
+        this.strategies = List.copyOf(strategies);
+        this.maxModelBytes = maxModelBytes;
+        this.sweeper = (sweeps == null) ? new Sweeper("bot-model-sweeper", this::evict) : new Sweeper(sweeps, this::evict);
+    }
+
+    // The strategy's number for Game, or 0 if there is no strategy of that name
+    public int strategyNumber(String name) {
+        for (int i = 0; i < strategies.size(); i++) {
+            if (strategies.get(i).getName().equalsIgnoreCase(name)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    public List<String> strategyNames() {
+        return strategies.stream().map(BotStrategy::getName).toList();
+    }
+
+    /** The bot's move in the given game against the given player, as an index into the game's variant. */
+    public int chooseMove(Game game, String opponent, OutcomeTable outcomes) {
+        PlayerMoveModel model = modelFor(game.getVariant(), opponent);
+        return answer(strategies.get(game.getBot() - 1).predict(model), outcomes, ThreadLocalRandom.current());
+    }
+
+    // A move that beats the predicted one, or a random move if there is no prediction or nothing beats it
+    static int answer(int predicted, OutcomeTable outcomes, RandomGenerator random) {
+        int move = (predicted < 0) ? -1 : outcomes.counterTo(predicted);
+        return (move < 0) ? random.nextInt(outcomes.size()) : move;
+    }
+
+    // Adds a move the player made against a bot to their model
+    public void learn(GameVariant variant, String player, int move) {
+        modelFor(variant, player).learn(move);
+    }
+
+    // Bytes held by all models
+    long modelBytes() {
+        return modelBytes.get();
+    }
+
+    @Override
+    public void close() {
+        sweeper.close();
+    }
+
+    // Only a player's first move in a variant allocates
+    private PlayerMoveModel modelFor(GameVariant variant, String player) {
+        Map<String, PlayerMoveModel> players = models.get(variant);
+        if (players == null) {
+            players = models.computeIfAbsent(variant, key -> new ConcurrentHashMap<>());
+        }
+        PlayerMoveModel model = players.get(player);
+        if (model != null) {
+            model.lastUsed = System.nanoTime();
+            return model;
+        }
+        model = players.computeIfAbsent(player, key -> {
+            modelBytes.addAndGet(bytesOf(variant, player));
+            return new PlayerMoveModel(variant.size());
+        });
+        model.lastUsed = System.nanoTime();  // Before sweeping, so a new model is never the first to go
+        if (modelBytes.get() > maxModelBytes) {
+            sweeper.request();
+        }
+        return model;
+    }
+
+    // Names are counted at a byte a character, as Latin-1 strings are stored
+    static long bytesOf(GameVariant variant, String player) {
+        return 4L * variant.size() * (variant.size() + 1) + ENTRY_OVERHEAD + player.length();
+    }
+
+    // On the sweeper's thread, never under the store's lock
+    private void evict() {
+        record Used(GameVariant variant, String player, PlayerMoveModel model, long lastUsed) {
+        }
+        List<Used> all = new ArrayList<>();
+        models.forEach((variant, players) -> players.forEach((player, model) ->
+                all.add(new Used(variant, player, model, model.lastUsed))));
+        all.sort(Comparator.comparingLong(Used::lastUsed));
+        long target = maxModelBytes - maxModelBytes / 4;
+        for (Used used : all) {
+            if (modelBytes.get() <= target) {
+                break;
+            }
+            if (models.get(used.variant()).remove(used.player(), used.model())) {
+                modelBytes.addAndGet(-bytesOf(used.variant(), used.player()));
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.rockpaperscissors;
+
+/**
+ * How a bot guesses its opponent's next move. The bot then throws a move that beats the guess.
+ *
+ * Called inline while a move is handled, so implementations should neither block nor allocate.
+ */
+public interface BotStrategy {
+
+    // The name clients ask for the strategy by
+    String getName();
+
+    // The opponent's next move as an index into the game's variant, or -1 to throw at random
+    int predict(PlayerMoveModel opponent);
+}
@@ -0,0 +1,11 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/games. Only the name is required; bestOf defaults to 1 and variant to classic.
+ */
+public record CreateGameRequest(String name, Integer bestOf, String variant) {
+
+    public CreateGameRequest(String name) {
+        this(name, null, null);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/rooms. The name is the room's creator; variant defaults to classic.
+ */
+public record CreateRoomRequest(String name, String variant) {
+
+    public CreateRoomRequest(String name) {
+        this(name, null);
+    }
+}
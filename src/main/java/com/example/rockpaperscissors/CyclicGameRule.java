@@ -0,0 +1,65 @@
+package com.example.rockpaperscissors;
+
+import java.util.List;
+
+/**
+ * A balanced cyclic game with any odd number of moves: each move beats the (N - 1) / 2 moves that follow
+ * it in the list, wrapping around at the end, and loses to the rest. Rock-Paper-Scissors-Lizard-Spock and
+ * the 7, 9, 15 and 101-move games all have this shape, so resolving any of them is one subtraction modulo N.
+ */
+public class CyclicGameRule implements GameRule {
+
+    private final List<String> moves;
+    private final int half;
+
+    public CyclicGameRule(List<String> moves) {
+        if (moves.size() < 3 || moves.size() % 2 == 0) {
+            throw new IllegalArgumentException("A cyclic game needs an odd number of moves, at least 3");
+        }
+        this.moves = List.copyOf(moves);
+        this.half = moves.size() / 2;
+    }
+
+    @Override
+    public List<String> moves() {
+        return moves;
+    }
+
+    @Override
+    public Outcome outcome(int move1, int move2) {
+        int distance = move2 - move1;
+        if (distance < 0) {
+            distance += moves.size();
+        }
+        if (distance == 0) {
+            return Outcome.TIE;
+        }
+        return (distance <= half) ? Outcome.PLAYER1_WINS : Outcome.PLAYER2_WINS;
+    }
+
+    @Override
+    public Outcome outcome(Move move1, Move move2) {
+        return outcome(indexOf(move1), indexOf(move2));
+    }
+
+    @Override
+    public String determineWinner(Move move1, Move move2) {
+        switch (outcome(move1, move2)) {
+            case PLAYER1_WINS:
+                return "Player1";
+            case PLAYER2_WINS:
+                return "Player2";
+            default:
+                return "TIE";
+        }
+    }
+
+    // The classic moves are matched by name, for variants that include them
+    private int indexOf(Move move) {
+        int index = moves.indexOf(move.name());
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown move: " + move);
+        }
+        return index;
+    }
+}
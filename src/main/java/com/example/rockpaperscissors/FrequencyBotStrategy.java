@@ -0,0 +1,15 @@
+package com.example.rockpaperscissors;
+
+// Expects the opponent to throw whatever they have thrown most
+public class FrequencyBotStrategy implements BotStrategy {
+
+    @Override
+    public String getName() {
+        return "frequency";
+    }
+
+    @Override
+    public int predict(PlayerMoveModel opponent) {
+        return opponent.mostFrequent();
+    }
+}
@@ -1,73 +1,351 @@
 package com.example.rockpaperscissors;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-@JsonInclude(JsonInclude.Include.NON_NULL)  // Ensures null values are excluded in JSON output
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
+/**
+ * A game between two players: a single round, or a best-of-N series.
+ *
+ * Status, both moves, the outcome and the series score are packed into one long so that every
+ * transition is a single compare-and-set and status checks are a mask instead of a string comparison:
+ *
+ * <pre>
+ *   bits 0-1    status (GameStatus ordinal)
+ *   bits 2-3    outcome (0 = undecided, otherwise Outcome ordinal + 1)
+ *   bits 4-7    bot playing as player 2 (0 = none, otherwise its strategy number)
+ *   bits 8-15   player 1's move (0 = none, otherwise the move's index in the variant + 1)
+ *   bits 16-23  player 2's move (same encoding)
+ *   bits 24-31  rounds in the series (0 = single game)
+ *   bits 32-39  player 1's round wins
+ *   bits 40-47  player 2's round wins
+ *   bits 48-55  rounds played
+ * </pre>
+ *
+ * Moves are indexes into the game's {@link GameVariant}, which names them and resolves each pair.
+ *
+ * In a series, each completed round is appended to a history of 16 bits per round (7 bits per move
+ * and 2 for the outcome) packed into a long[], and the moves are cleared for the next round. Ties
+ * are replayed. The series ends when a player has won a majority of its rounds, so the score is
+ * always read straight from the state rather than counted from the history.
+ *
+ * The winner's name is not stored; it is derived from the outcome and the player names.
+ * The JSON form of a single game is the same as when all of these were separate fields.
+ *
+ * Transitions are atomic on their own, but callers still go through {@link GameStore#update}
+ * so that checks made before a transition see the same state.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)  // Ensures null values are excluded in JSON output
+@JsonPropertyOrder({"id", "player1", "player2", "player1Move", "player2Move", "status", "winnerName",
+        "variant", "bestOf", "player1Score", "player2Score", "rounds"})
 public class Game {
-    private String id;
-    private String player1;
-    private String player2;
-    private Move player1Move;
-    private Move player2Move;
-    private String status;  // "WAITING", "IN_PROGRESS", "FINISHED"
-    private String winnerName;  // Holds the actual winner's name or "TIE"
+    static final int STATUS_MASK = 0x3;
+    static final int OUTCOME_SHIFT = 2;
+    static final int OUTCOME_MASK = 0x3 << OUTCOME_SHIFT;
+    static final int BOT_SHIFT = 4;
+    static final int BOT_MASK = 0xF << BOT_SHIFT;
+    static final int MAX_BOT = 0xF;
+    static final int PLAYER1_MOVE_SHIFT = 8;
+    static final int PLAYER2_MOVE_SHIFT = 16;
+    static final int MOVE_MASK = 0xFF;
+    static final int BEST_OF_SHIFT = 24;
+    static final int PLAYER1_SCORE_SHIFT = 32;
+    static final int PLAYER2_SCORE_SHIFT = 40;
+    static final int ROUNDS_SHIFT = 48;
+    static final int COUNTER_MASK = 0xFF;
+    static final int MAX_ROUNDS = COUNTER_MASK;  // A series still tied after this many rounds ends as a tie
+    private static final int ROUND_BITS = 16;
+    private static final int ROUND_MASK = 0xFFFF;
+    private static final int ROUND_MOVE_BITS = 7;
+    private static final int ROUND_MOVE_MASK = 0x7F;
+    private static final int ROUNDS_PER_LONG = Long.SIZE / ROUND_BITS;
 
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final VarHandle STATE;
+    private static final VarHandle PLAYER2;
 
-    // Setters and Getters
-    public String getWinnerName() {
-        return winnerName;
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(Game.class, "state", long.class);
+            PLAYER2 = MethodHandles.lookup().findVarHandle(Game.class, "player2", String.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
     }
 
-    public String getId () {
-        return id;
+    private final String id;
+    private final String player1;
+    private final GameVariant variant;
+    private volatile String player2;
+    private volatile long state;  // Starts out WAITING with no moves
+    private volatile long expiresAt;  // Set by the store, not part of the JSON
+    private volatile long[] history;  // Completed rounds of a series, null for a single game; written under the store's lock
+    private volatile GameResponseCache.Entry cachedResponse;  // Set once the game is finished, not part of the JSON
+
+    public Game(String id, String player1) {
+        this(id, player1, GameVariant.CLASSIC);
     }
 
-    public void setWinnerName(String winnerName) {
-        this.winnerName = winnerName;
+    public Game(String id, String player1, GameVariant variant) {
+        this.id = id;
+        this.player1 = player1;
+        this.variant = variant;
     }
 
-    public String getPlayer1() {
-        return player1;
+    /** A best-of-N series; N must be odd, and 1 is a single game. */
+    public Game(String id, String player1, int bestOf) {
+        this(id, player1, bestOf, GameVariant.CLASSIC);
+    }
+
+    public Game(String id, String player1, int bestOf, GameVariant variant) {
+        this(id, player1, variant);
+        if (bestOf < 1 || bestOf % 2 == 0 || bestOf > MAX_ROUNDS) {
+            throw new IllegalArgumentException("Best of must be an odd number between 1 and " + MAX_ROUNDS);
+        }
+        if (bestOf > 1) {
+            this.state = (long) bestOf << BEST_OF_SHIFT;
+            this.history = new long[(bestOf + ROUNDS_PER_LONG - 1) / ROUNDS_PER_LONG];
+        }
     }
 
-    public void setPlayer1(String player1) {
+    // Rebuilds a game from its persisted state
+    Game(String id, String player1, String player2, long state, long[] history, GameVariant variant) {
+        this.id = id;
         this.player1 = player1;
+        this.variant = variant;
+        this.player2 = player2;
+        this.state = state;
+        this.history = history;
+    }
+
+    /**
+     * Moves a waiting game to IN_PROGRESS with the given second player.
+     * Returns false if the game is not waiting for a player.
+     */
+    public boolean join(String player) {
+        return join(player, 0);
+    }
+
+    /** Joins a bot as the second player; bot is its strategy number, from 1 to {@value #MAX_BOT}. */
+    boolean join(String player, int bot) {
+        // The seat is claimed first, so only the winner's name is ever seen, and before the state says IN_PROGRESS
+        if ((state & STATUS_MASK) != GameStatus.WAITING.ordinal() || !PLAYER2.compareAndSet(this, null, player)) {
+            return false;
+        }
+        long current;
+        do {
+            current = state;  // Nothing else changes a waiting game, so this only retries on a stale read
+        } while (!STATE.compareAndSet(this, current,
+                (current & ~STATUS_MASK) | ((long) bot << BOT_SHIFT) | GameStatus.IN_PROGRESS.ordinal()));
+        return true;
+    }
+
+    /** Records a move of the classic game; see {@link #play(boolean, int, OutcomeTable)}. */
+    public boolean play(boolean isPlayer1, Move move, OutcomeTable outcomes) {
+        return play(isPlayer1, move.ordinal(), outcomes);
+    }
+
+    /**
+     * Records a move, given as its index in the game's variant, for one of the players. A player may change
+     * their move until the opponent has moved; the move that completes the pair is resolved with the outcome
+     * table in the same update. That finishes a single game; in a series it completes the round, and finishes
+     * the game once a player has won the series. Returns false if the game is not in progress.
+     */
+    public boolean play(boolean isPlayer1, int move, OutcomeTable outcomes) {
+        int shift = isPlayer1 ? PLAYER1_MOVE_SHIFT : PLAYER2_MOVE_SHIFT;
+        long current;
+        long next;
+        do {
+            current = state;
+            if ((current & STATUS_MASK) != GameStatus.IN_PROGRESS.ordinal()) {
+                return false;
+            }
+            next = (current & ~((long) MOVE_MASK << shift)) | ((long) (move + 1) << shift);
+
+            int move1 = (int) (next >>> PLAYER1_MOVE_SHIFT) & MOVE_MASK;
+            int move2 = (int) (next >>> PLAYER2_MOVE_SHIFT) & MOVE_MASK;
+            if (move1 != 0 && move2 != 0) {
+                Outcome outcome = outcomes.resolve(move1 - 1, move2 - 1);
+                next = (counter(next, BEST_OF_SHIFT) == 0) ? finish(next, outcome) : completeRound(next, move1, move2, outcome);
+            }
+        } while (!STATE.compareAndSet(this, current, next));
+        return true;
+    }
+
+    private static long finish(long state, Outcome outcome) {
+        return (state & ~(STATUS_MASK | OUTCOME_MASK))
+                | ((long) (outcome.ordinal() + 1) << OUTCOME_SHIFT) | GameStatus.FINISHED.ordinal();
+    }
+
+    // Records the round in the history and the score, then either finishes the series or clears the moves
+    private long completeRound(long state, int move1, int move2, Outcome outcome) {
+        int round = counter(state, ROUNDS_SHIFT);
+        recordRound(round, (move1 - 1) | ((move2 - 1) << ROUND_MOVE_BITS) | (outcome.ordinal() << (2 * ROUND_MOVE_BITS)));
+        int score1 = counter(state, PLAYER1_SCORE_SHIFT) + (outcome == Outcome.PLAYER1_WINS ? 1 : 0);
+        int score2 = counter(state, PLAYER2_SCORE_SHIFT) + (outcome == Outcome.PLAYER2_WINS ? 1 : 0);
+        long next = state & ~(((long) COUNTER_MASK << PLAYER1_SCORE_SHIFT) | ((long) COUNTER_MASK << PLAYER2_SCORE_SHIFT)
+                | ((long) COUNTER_MASK << ROUNDS_SHIFT));
+        next |= ((long) score1 << PLAYER1_SCORE_SHIFT) | ((long) score2 << PLAYER2_SCORE_SHIFT)
+                | ((long) (round + 1) << ROUNDS_SHIFT);
+
+        int needed = counter(state, BEST_OF_SHIFT) / 2 + 1;
+        if (score1 >= needed || score2 >= needed || round + 1 == MAX_ROUNDS) {
+            Outcome series = (score1 > score2) ? Outcome.PLAYER1_WINS
+                    : (score2 > score1) ? Outcome.PLAYER2_WINS : Outcome.TIE;
+            return finish(next, series);  // The last round's moves stay visible
+        }
+        return next & ~(((long) MOVE_MASK << PLAYER1_MOVE_SHIFT) | ((long) MOVE_MASK << PLAYER2_MOVE_SHIFT));
+    }
+
+    private void recordRound(int round, int bits) {
+        long[] rounds = history;
+        int index = round / ROUNDS_PER_LONG;
+        if (index == rounds.length) {
+            rounds = Arrays.copyOf(rounds, rounds.length * 2);  // Only when ties have run past N rounds
+            history = rounds;
+        }
+        int shift = (round % ROUNDS_PER_LONG) * ROUND_BITS;
+        // Overwrite rather than OR in, in case a failed compare-and-set already wrote this round
+        rounds[index] = (rounds[index] & ~((long) ROUND_MASK << shift)) | ((long) bits << shift);
+    }
+
+    private static int counter(long state, int shift) {
+        return (int) (state >>> shift) & COUNTER_MASK;
+    }
+
+    // Getters
+    public String getWinnerName() {
+        int outcome = (int) (state & OUTCOME_MASK) >>> OUTCOME_SHIFT;
+        if (outcome == 0) {
+            return null;
+        }
+        switch (OUTCOMES[outcome - 1]) {
+            case PLAYER1_WINS:
+                return player1;
+            case PLAYER2_WINS:
+                return player2;
+            default:
+                return "TIE";
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getPlayer1() {
+        return player1;
     }
 
     public String getPlayer2() {
         return player2;
     }
 
-    public void setPlayer2(String player2) {
-        this.player2 = player2;
+    public String getPlayer1Move() {
+        return moveAt(PLAYER1_MOVE_SHIFT);
     }
 
-    public Move getPlayer1Move() {
-        return player1Move;
+    public String getPlayer2Move() {
+        return moveAt(PLAYER2_MOVE_SHIFT);
     }
 
-    public void setPlayer1Move(Move player1Move) {
-        this.player1Move = player1Move;
+    public GameStatus getStatus() {
+        return STATUSES[(int) (state & STATUS_MASK)];
     }
 
-    public Move getPlayer2Move() {
-        return player2Move;
+    // Null for the classic game, so its JSON is unchanged
+    @JsonProperty("variant")
+    public String getVariantName() {
+        return (variant == GameVariant.CLASSIC) ? null : variant.getName();
     }
 
-    public void setPlayer2Move(Move player2Move) {
-        this.player2Move = player2Move;
+    // The series fields are null for a single game, so they are left out of its JSON
+    public Integer getBestOf() {
+        int bestOf = counter(state, BEST_OF_SHIFT);
+        return (bestOf == 0) ? null : bestOf;
     }
 
-    public String getStatus() {
-        return status;
+    public Integer getPlayer1Score() {
+        long current = state;
+        return (counter(current, BEST_OF_SHIFT) == 0) ? null : counter(current, PLAYER1_SCORE_SHIFT);
     }
 
-    public void setStatus(String status) {
-        this.status = status;
+    public Integer getPlayer2Score() {
+        long current = state;
+        return (counter(current, BEST_OF_SHIFT) == 0) ? null : counter(current, PLAYER2_SCORE_SHIFT);
     }
 
-    public void setId(String id) {
-        this.id = id;
+    // Completed rounds of a series, oldest first
+    public List<SeriesRound> getRounds() {
+        long current = state;
+        long[] rounds = history;
+        if (rounds == null) {
+            return null;
+        }
+        int played = counter(current, ROUNDS_SHIFT);
+        List<SeriesRound> list = new ArrayList<>(played);
+        for (int round = 0; round < played; round++) {
+            int bits = (int) (rounds[round / ROUNDS_PER_LONG] >>> ((round % ROUNDS_PER_LONG) * ROUND_BITS)) & ROUND_MASK;
+            list.add(new SeriesRound(variant.moveAt(bits & ROUND_MOVE_MASK),
+                    variant.moveAt((bits >>> ROUND_MOVE_BITS) & ROUND_MOVE_MASK), OUTCOMES[bits >>> (2 * ROUND_MOVE_BITS)]));
+        }
+        return list;
+    }
+
+    private String moveAt(int shift) {
+        int move = moveIndex(shift);
+        return (move < 0) ? null : variant.moveAt(move);
+    }
+
+    // -1 when the player has not moved
+    private int moveIndex(int shift) {
+        return ((int) (state >>> shift) & MOVE_MASK) - 1;
+    }
+
+    GameVariant getVariant() {
+        return variant;
+    }
+
+    // Null until the game is finished
+    Outcome getOutcome() {
+        int outcome = (int) (state & OUTCOME_MASK) >>> OUTCOME_SHIFT;
+        return (outcome == 0) ? null : OUTCOMES[outcome - 1];
+    }
+
+    // 0 if player 2 is not a bot
+    int getBot() {
+        return (int) (state & BOT_MASK) >>> BOT_SHIFT;
+    }
+
+    long getState() {
+        return state;
+    }
+
+    long[] getHistory() {
+        return history;
+    }
+
+    long getExpiresAt() {
+        return expiresAt;
+    }
+
+    void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    GameResponseCache.Entry getCachedResponse() {
+        return cachedResponse;
+    }
+
+    void setCachedResponse(GameResponseCache.Entry cachedResponse) {
+        this.cachedResponse = cachedResponse;
     }
 
     // For easier debugging
@@ -77,10 +355,10 @@ public class Game {
                 "gameID=" + id + '\'' +
                 "player1='" + player1 + '\'' +
                 ", player2='" + player2 + '\'' +
-                ", player1Move=" + player1Move +
-                ", player2Move=" + player2Move +
-                ", status='" + status + '\'' +
-                ", winnerName='" + winnerName + '\'' +
+                ", player1Move=" + getPlayer1Move() +
+                ", player2Move=" + getPlayer2Move() +
+                ", status='" + getStatus() + '\'' +
+                ", winnerName='" + getWinnerName() + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Receives games as they are evicted from the {@link GameStore}, e.g. to spill them to long-term storage.
+ * Called after the game has left the store and its lock has been released, on the thread that removed it.
+ */
+@FunctionalInterface
+public interface GameArchiver {
+
+    GameArchiver NONE = game -> { };
+
+    void archive(Game game);
+}
@@ -0,0 +1,76 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+/**
+ * Applies batches of create, join or move requests to the store in a single pass.
+ *
+ * Every item goes through {@link GameService} exactly as a single request would and gets its own
+ * result, so one bad item never fails the others. {@link #process} streams: it reads one item,
+ * applies it and writes its result before reading the next, so a batch is never held in memory.
+ *
+ * Each item also takes a token from the client address's rate limit, as a single request would,
+ * so a batch cannot be used to make more changes than the limit allows; items over it get a 429.
+ */
+public class GameBatchProcessor {
+
+    private final GameService gameService;
+    private final RateLimiter addressRateLimiter;
+    private final GameEventLogger eventLogger;
+
+    public GameBatchProcessor(GameService gameService, RateLimiter addressRateLimiter, GameEventLogger eventLogger) {
+        this.gameService = gameService;
+        this.addressRateLimiter = addressRateLimiter;
+        this.eventLogger = eventLogger;
+    }
+
+    /** Applies one item sent from the given client address. */
+    public BatchItemResult apply(BatchOperation operation, BatchItem item, String address) {
+        long wait = addressRateLimiter.tryAcquire(address);
+        if (wait != 0) {
+            eventLogger.log(GameEventType.RATE_LIMITED, item.id(), item.name(), address);
+            ResponseEntity<ErrorResponse> tooMany = RateLimiter.tooManyRequests(wait);
+            return new BatchItemResult(tooMany.getStatusCode().value(), tooMany.getBody());
+        }
+        ResponseEntity<?> response;
+        if (operation == BatchOperation.CREATE) {
+            response = gameService.createGame(item.toCreateRequest());
+        } else {
+            String id = item.id();
+            if (id == null || id.isEmpty()) {
+                return error("Game ID is required");
+            }
+            response = (operation == BatchOperation.JOIN) ? gameService.joinGame(id, item.toJoinRequest())
+                    : gameService.makeMove(id, item.toMoveRequest());
+        }
+        return new BatchItemResult(response.getStatusCode().value(), response.getBody());
+    }
+
+    /**
+     * Reads the items of a JSON array whose START_ARRAY the parser has just consumed, and writes
+     * a JSON array with one result per item.
+     */
+    public void process(BatchOperation operation, String address, JsonParser parser, JsonGenerator generator)
+            throws IOException {
+        generator.writeStartArray();
+        for (JsonToken token; (token = parser.nextToken()) != JsonToken.END_ARRAY && token != null; ) {
+            if (token == JsonToken.START_OBJECT) {
+                generator.writeObject(apply(operation, parser.readValueAs(BatchItem.class), address));
+            } else {
+                parser.skipChildren();
+                generator.writeObject(error("Each item must be a JSON object"));
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static BatchItemResult error(String message) {
+        return new BatchItemResult(HttpStatus.BAD_REQUEST.value(), new ErrorResponse(message, HttpStatus.BAD_REQUEST.value()));
+    }
+}
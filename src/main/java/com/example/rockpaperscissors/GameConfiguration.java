@@ -0,0 +1,159 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Wires the pieces {@link GameService} is built from. Settings come from application.properties.
+ */
+@Configuration
+public class GameConfiguration {
+
+    @Bean
+    public GameStore gameStore(@Value("${game.store.waiting-ttl:10m}") Duration waitingTtl,
+                               @Value("${game.store.in-progress-ttl:30m}") Duration inProgressTtl,
+                               @Value("${game.store.finished-ttl:5m}") Duration finishedTtl,
+                               @Value("${game.store.max-games:1000000}") int maxGames,
+                               @Value("${game.store.expiry-tick:1s}") Duration expiryTick,
+                               ObjectProvider<GameArchiver> archiver,
+                               ObjectProvider<GameLog> gameLog) {
+        GameEvictionPolicy policy = new GameEvictionPolicy(waitingTtl, inProgressTtl, finishedTtl, maxGames);
+        // Any GameArchiver bean in the context receives evicted games
+        return new InMemoryGameStore(policy, archiver.getIfAvailable(() -> GameArchiver.NONE), expiryTick.toMillis(),
+                gameLog.getIfAvailable());
+    }
+
+    // Closed by the store, which owns it once created
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(name = "game.persistence.enabled", havingValue = "true")
+    public GameLog gameLog(@Value("${game.persistence.directory:data/games}") Path directory,
+                           @Value("${game.persistence.segment-size:64MB}") DataSize segmentSize,
+                           @Value("${game.persistence.fsync:interval}") String fsync,
+                           @Value("${game.persistence.fsync-interval:10ms}") Duration fsyncInterval,
+                           @Value("${game.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        return new GameLog(directory, Math.toIntExact(segmentSize.toBytes()),
+                GameLog.FsyncPolicy.valueOf(fsync.toUpperCase()), fsyncInterval.toMillis(), snapshotInterval.toMillis());
+    }
+
+    @Bean
+    public GameRule gameRule() {
+        return new StandardGameRule();
+    }
+
+    @Bean
+    public GameIdGenerator gameIdGenerator(@Value("${game.id.node-id:0}") long nodeId) {
+        return new SnowflakeGameIdGenerator(nodeId);
+    }
+
+    @Bean
+    public GameService gameService(GameStore gameStore, GameRule gameRule, GameIdGenerator gameIdGenerator,
+                                   GameEventLogger gameEventLogger, GameUpdatePublisher gameUpdatePublisher,
+                                   PlayerStatistics playerStatistics, BotPlayer botPlayer, GameMetrics gameMetrics,
+                                   GameResponseCache gameResponseCache,
+                                   @Qualifier("playerRateLimiter") RateLimiter playerRateLimiter) {
+        return new GameService(gameStore, gameRule, gameIdGenerator, gameEventLogger, gameUpdatePublisher,
+                playerStatistics, botPlayer, gameMetrics, gameResponseCache, playerRateLimiter);
+    }
+
+    @Bean
+    public RateLimiter playerRateLimiter(@Value("${game.rate-limit.player.per-second:20}") double perSecond,
+                                         @Value("${game.rate-limit.player.burst:40}") int burst,
+                                         @Value("${game.rate-limit.max-keys:100000}") int maxKeys) {
+        return new RateLimiter(perSecond, burst, maxKeys);
+    }
+
+    @Bean
+    public RateLimiter addressRateLimiter(@Value("${game.rate-limit.address.per-second:200}") double perSecond,
+                                          @Value("${game.rate-limit.address.burst:400}") int burst,
+                                          @Value("${game.rate-limit.max-keys:100000}") int maxKeys) {
+        return new RateLimiter(perSecond, burst, maxKeys);
+    }
+
+    // Replaces Actuator's clock, so recording a timer does not read the system clock
+    @Bean
+    public Clock micrometerClock() {
+        return new CoarseClock(10);
+    }
+
+    @Bean
+    public GameMetrics gameMetrics(ObjectProvider<MeterRegistry> meterRegistry, GameStore gameStore,
+                                   GameEventLogger gameEventLogger) {
+        // Without Actuator's registry (e.g. in web slice tests) the meters go to the global one, which keeps nothing
+        return new GameMetrics(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), gameStore, gameEventLogger);
+    }
+
+    @Bean
+    public BotPlayer botPlayer(@Value("${game.bots.model-memory:64MB}") DataSize modelMemory) {
+        return new BotPlayer(List.of(new RandomBotStrategy(), new FrequencyBotStrategy(), new MarkovBotStrategy()),
+                modelMemory.toBytes());
+    }
+
+    @Bean
+    public MatchmakingService matchmakingService(GameStore gameStore, GameIdGenerator gameIdGenerator,
+                                                 GameEventLogger gameEventLogger,
+                                                 @Value("${game.matchmaking.rating-band:100}") int ratingBand,
+                                                 @Value("${game.matchmaking.max-wait:30s}") Duration maxWait,
+                                                 @Value("${game.matchmaking.ticket-retention:1m}") Duration ticketRetention) {
+        return new MatchmakingService(gameStore, gameIdGenerator, gameEventLogger, ratingBand, maxWait.toMillis(),
+                ticketRetention.toMillis());
+    }
+
+    @Bean
+    public RoomService roomService(GameEventLogger gameEventLogger,
+                                   @Value("${game.rooms.max-players:1000}") int maxPlayers,
+                                   @Value("${game.rooms.ttl:1h}") Duration ttl) {
+        return new RoomService(gameEventLogger, maxPlayers, ttl.toMillis());
+    }
+
+    @Bean
+    public PlayerStatistics playerStatistics(@Value("${game.stats.leaderboard-size:100}") int leaderboardSize,
+                                             @Value("${game.stats.max-players:100000}") int maxPlayers) {
+        return new PlayerStatistics(leaderboardSize, maxPlayers);
+    }
+
+    @Bean
+    public GameBatchProcessor gameBatchProcessor(GameService gameService,
+                                                 @Qualifier("addressRateLimiter") RateLimiter addressRateLimiter,
+                                                 GameEventLogger gameEventLogger) {
+        return new GameBatchProcessor(gameService, addressRateLimiter, gameEventLogger);
+    }
+
+    // Picked up by Spring's ObjectMapper, so every request and response body is bound through it
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public GameUpdatePublisher gameUpdatePublisher(ObjectMapper objectMapper) {
+        return new GameUpdatePublisher(objectMapper.writer());
+    }
+
+    @Bean
+    public GameResponseCache gameResponseCache(ObjectMapper objectMapper) {
+        return new GameResponseCache(objectMapper.writer());
+    }
+
+    @Bean
+    public GameEventLogger gameEventLogger(@Value("${game.events.level:INFO}") String level,
+                                           @Value("${game.events.sample-rate:1.0}") double sampleRate,
+                                           @Value("${game.events.queue-capacity:8192}") int queueCapacity) {
+        Level minLevel = "OFF".equalsIgnoreCase(level) ? null : Level.valueOf(level.toUpperCase());
+        return new GameEventLogger(minLevel, sampleRate, queueCapacity);
+    }
+}
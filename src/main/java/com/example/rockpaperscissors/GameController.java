@@ -1,151 +1,130 @@
 package com.example.rockpaperscissors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 @RestController
 @RequestMapping("/api/games")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // ReactiveGameRoutes serves reactive mode
 public class GameController {
 
-    private Map<String, Game> gameStore = new HashMap<>();
-    private GameRule gameRule;  // The strategy for determining the winner
-
-    public GameController() {
-        this.gameRule = new StandardGameRule();  // Default to the standard rule
+    private final GameService gameService;
+    private final GameBatchProcessor batchProcessor;
+    private final ObjectMapper objectMapper;
+    private final Duration streamTimeout;
+    private final Executor pushExecutor = Executors.newVirtualThreadPerTaskExecutor();  // Writes SSE events
+
+    public GameController(GameService gameService, GameBatchProcessor batchProcessor, ObjectMapper objectMapper,
+                          @Value("${game.push.stream-timeout:30m}") Duration streamTimeout) {
+        this.gameService = gameService;
+        this.batchProcessor = batchProcessor;
+        this.objectMapper = objectMapper;
+        this.streamTimeout = streamTimeout;
     }
 
     // Create a new game
     @PostMapping
-    public ResponseEntity<?> createGame(@RequestBody Map<String, String> request) {
-        String playerName = request.get("name");
-        if (playerName == null || playerName.isEmpty()) {
-            System.out.println("Error: Player name is missing.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()));
-        }
-
-        String gameId = "game-" + System.currentTimeMillis();
-        Game game = new Game();
-        game.setPlayer1(playerName);
-        game.setStatus("WAITING");
-        gameStore.put(gameId, game);
-
-        System.out.println("Game created: " + game);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
-                .body("Game created with ID: " + gameId);
+    public ResponseEntity<?> createGame(@RequestBody CreateGameRequest request) {
+        return gameService.createGame(request);
     }
 
     @PostMapping("/{id}/join")
-    public ResponseEntity<?> joinGame(@PathVariable String id, @RequestBody Map<String, String> request) {
-        String playerName = request.get("name");
-        if (playerName == null || playerName.isEmpty()) {
-            System.out.println("Error: Player name is missing.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()));
-        }
-
-        Game game = gameStore.get(id);
-        if (game == null) {
-            System.out.println("Error: Game with ID " + id + " not found.");
-            return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()));
-        }
-
-        if (!game.getStatus().equals("WAITING")) {
-            System.out.println("Error: Game with ID " + id + " is already in progress or finished.");
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(new ErrorResponse("Game already in progress or finished", HttpStatus.BAD_REQUEST.value()));
-        }
-
-        game.setPlayer2(playerName);
-        game.setStatus("IN_PROGRESS");
+    public ResponseEntity<?> joinGame(@PathVariable String id, @RequestBody JoinGameRequest request) {
+        return gameService.joinGame(id, request);
+    }
 
-        System.out.println("Game after join: " + game);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
-                .body(playerName + " joined the game with ID: " + id);
+    // Seat a bot as the second player; the body may name its strategy
+    @PostMapping("/{id}/bot")
+    public ResponseEntity<?> addBot(@PathVariable String id, @RequestBody(required = false) AddBotRequest request) {
+        return gameService.addBot(id, request);
     }
 
     // Make a move in the game
     @PostMapping("/{id}/move")
-    public ResponseEntity<?> makeMove(@PathVariable String id, @RequestBody Map<String, String> request) {
-        String playerName = request.get("name");
-        String moveString = request.get("move");
-
-        if (playerName == null || playerName.isEmpty()) {
-            System.out.println("Error: Player name is missing.");
-            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-        }
-        if (moveString == null || moveString.isEmpty()) {
-            System.out.println("Error: Move is missing.");
-            return new ResponseEntity<>(new ErrorResponse("Move is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-        }
+    public ResponseEntity<?> makeMove(@PathVariable String id, @RequestBody MoveRequest request) {
+        return gameService.makeMove(id, request);
+    }
 
-        Game game = gameStore.get(id);
-        if (game == null) {
-            System.out.println("Error: Game with ID " + id + " not found.");
-            return new ResponseEntity<>(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
-        }
-        if (!game.getStatus().equals("IN_PROGRESS")) {
-            System.out.println("Error: Game with ID " + id + " is not in progress.");
-            return new ResponseEntity<>(new ErrorResponse("Game not in progress", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-        }
+    // Create one game per item of a JSON array
+    @PostMapping("/batch")
+    public void createGames(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamBatch(BatchOperation.CREATE, request, response);
+    }
 
-        // Convert the move string to the Move enum
-        Move move;
-        try {
-            move = Move.valueOf(moveString.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            System.out.println("Error: Invalid move provided.");
-            return new ResponseEntity<>(new ErrorResponse("Invalid move. Must be Rock, Paper, or Scissors.", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-        }
+    // Join one game per item; each item names the game in "id"
+    @PostMapping("/batch/join")
+    public void joinGames(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamBatch(BatchOperation.JOIN, request, response);
+    }
 
-        // Assign the move to the correct player
-        if (playerName.equalsIgnoreCase(game.getPlayer1())) {
-            game.setPlayer1Move(move);
-            System.out.println("Player 1 move set to: " + game.getPlayer1Move());
-        } else if (playerName.equalsIgnoreCase(game.getPlayer2())) {
-            game.setPlayer2Move(move);
-            System.out.println("Player 2 move set to: " + game.getPlayer2Move());
-        } else {
-            System.out.println("Error: Invalid player trying to make a move.");
-            return new ResponseEntity<>(new ErrorResponse("Invalid player", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
-        }
+    // Make one move per item; each item names the game in "id"
+    @PostMapping("/batch/move")
+    public void makeMoves(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamBatch(BatchOperation.MOVE, request, response);
+    }
 
-        // Check if both players have made their moves
-        if (game.getPlayer1Move() != null && game.getPlayer2Move() != null) {
-            // Use the strategy to determine the winner
-            String winner = gameRule.determineWinner(game.getPlayer1Move(), game.getPlayer2Move());
-
-            // Set the winnerName based on the result
-            if ("Player1".equals(winner)) {
-                game.setWinnerName(game.getPlayer1());
-            } else if ("Player2".equals(winner)) {
-                game.setWinnerName(game.getPlayer2());
-            } else {
-                game.setWinnerName("TIE");
-            }
+    // Get the store's size and hit/expiry counters
+    @GetMapping("/stats")
+    public ResponseEntity<GameStoreStats> getStoreStats() {
+        return gameService.getStoreStats();
+    }
 
-            game.setStatus("FINISHED");
+    // Stream the game's state as Server-Sent Events until it finishes
+    @GetMapping("/{id}/events")
+    public ResponseEntity<SseEmitter> watchGame(@PathVariable String id) throws IOException {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Runnable unsubscribe = gameService.watchGame(id, new SseGameWatcher(emitter, pushExecutor));
+        if (unsubscribe == null) {
+            // Spring only streams emitters declared as such, so the error goes out as a single "error" event
+            emitter.send(SseEmitter.event().name("error")
+                    .data(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()), MediaType.APPLICATION_JSON));
+            emitter.complete();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(emitter);
         }
-
-        System.out.println("After move - " + game);
-
-        return ResponseEntity.ok("Move accepted for game " + id);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return ResponseEntity.ok(emitter);
     }
 
     // Get the game state
     @GetMapping("/{id}")
-    public ResponseEntity<?> getGameState(@PathVariable String id) {
-        Game game = gameStore.get(id);
-        if (game == null) {
-            System.out.println("Error: Game with ID " + id + " not found.");
-            return new ResponseEntity<>(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+    public ResponseEntity<?> getGameState(@PathVariable String id,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return gameService.getGameState(id, ifNoneMatch);
+    }
+
+    // Results are written while the body is still being read, so neither side of a batch is buffered in full
+    private void streamBatch(BatchOperation operation, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                objectMapper.writeValue(response.getOutputStream(),
+                        new ErrorResponse("Request body must be a JSON array", HttpStatus.BAD_REQUEST.value()));
+                return;
+            }
+            try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+                batchProcessor.process(operation, request.getRemoteAddr(), parser, generator);
+            }
         }
-        return ResponseEntity.ok(game);
     }
-}
\ No newline at end of file
+}
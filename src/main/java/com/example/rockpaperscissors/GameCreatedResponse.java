@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Returned when a game is created; the ID is what the other game endpoints take.
+ */
+public record GameCreatedResponse(String id) {
+}
@@ -0,0 +1,62 @@
+package com.example.rockpaperscissors;
+
+/**
+ * A single game event as captured on the request thread. Only references are stored here;
+ * turning the event into text is left to the logging thread.
+ */
+public final class GameEvent {
+    private final GameEventType type;
+    private final long timestamp;
+    private final String gameId;
+    private final String player;
+    private final Object detail;
+
+    public GameEvent(GameEventType type, long timestamp, String gameId, String player, Object detail) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.gameId = gameId;
+        this.player = player;
+        this.detail = detail;
+    }
+
+    public GameEventType getType() {
+        return type;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public Object getDetail() {
+        return detail;
+    }
+
+    // Renders the event as logfmt key=value pairs, leaving out fields that are not set
+    public String format() {
+        StringBuilder sb = new StringBuilder(96);
+        sb.append("event=").append(type.name()).append(" time=").append(timestamp);
+        if (gameId != null) {
+            sb.append(" gameId=").append(gameId);
+        }
+        if (player != null) {
+            sb.append(" player=\"").append(player).append('"');
+        }
+        if (detail != null) {
+            sb.append(" detail=").append(detail);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
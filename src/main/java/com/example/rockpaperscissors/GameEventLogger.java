@@ -0,0 +1,139 @@
+package com.example.rockpaperscissors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous logger for {@link GameEvent}s.
+ *
+ * The request thread only checks the level, applies sampling and hands the event to a bounded
+ * queue. A single background thread drains the queue in batches and does all of the formatting
+ * and writing. When the queue is full the event is dropped and counted rather than blocking the
+ * request. With the level set above an event's level, {@link #log} returns after one comparison
+ * and allocates nothing.
+ *
+ * Every event is counted by type before any level check or sampling, so the counts are exact
+ * whatever is written to the log.
+ */
+public class GameEventLogger implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger("game.events");
+    private static final int MAX_BATCH = 256;
+    private static final int SAMPLE_SCALE = 1 << 16;
+    private static final GameEvent POISON = new GameEvent(null, 0, null, null, null);
+
+    private final int minLevel;  // SLF4J level ints, higher is more severe
+    private final int sampleThreshold;  // Out of SAMPLE_SCALE, applies to events below WARN
+    private final BlockingQueue<GameEvent> queue;
+    private final Consumer<GameEvent> sink;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder[] counts = new LongAdder[GameEventType.values().length];
+
+    /**
+     * @param level      the lowest level that is logged, or null to switch event logging off
+     * @param sampleRate fraction (0.0 to 1.0) of INFO and DEBUG events to keep; warnings are always kept
+     */
+    public GameEventLogger(Level level, double sampleRate, int queueCapacity) {
+        this(level, sampleRate, queueCapacity, GameEventLogger::write);
+    }
+
+    GameEventLogger(Level level, double sampleRate, int queueCapacity, Consumer<GameEvent> sink) {
+        if (sampleRate < 0.0 || sampleRate > 1.0) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.minLevel = (level == null) ? Integer.MAX_VALUE : level.toInt();
+        this.sampleThreshold = (int) Math.round(sampleRate * SAMPLE_SCALE);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.sink = sink;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+        this.writer = new Thread(this::drain, "game-event-logger");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public boolean isEnabled(GameEventType type) {
+        return type.getLevel().toInt() >= minLevel;
+    }
+
+    public void log(GameEventType type, String gameId) {
+        log(type, gameId, null, null);
+    }
+
+    public void log(GameEventType type, String gameId, String player, Object detail) {
+        counts[type.ordinal()].increment();
+        int level = type.getLevel().toInt();
+        if (level < minLevel) {
+            return;
+        }
+        if (level < Level.WARN.toInt() && sampleThreshold < SAMPLE_SCALE
+                && ThreadLocalRandom.current().nextInt(SAMPLE_SCALE) >= sampleThreshold) {
+            return;
+        }
+        if (!queue.offer(new GameEvent(type, System.currentTimeMillis(), gameId, player, detail))) {
+            dropped.increment();
+        }
+    }
+
+    // Number of events of the type reported so far, logged or not
+    public long getCount(GameEventType type) {
+        return counts[type.ordinal()].sum();
+    }
+
+    // Number of events lost because the queue was full
+    public long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    // Stops the writer thread after everything already queued has been written
+    @Override
+    public void close() throws InterruptedException {
+        queue.put(POISON);
+        writer.join();
+    }
+
+    private void drain() {
+        List<GameEvent> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (GameEvent event : batch) {
+                    if (event == POISON) {
+                        return;
+                    }
+                    try {
+                        sink.accept(event);
+                    } catch (RuntimeException e) {
+                        // A broken sink must not take the writer thread down with it
+                        log.error("Failed to write game event {}", event.getType(), e);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void write(GameEvent event) {
+        switch (event.getType().getLevel()) {
+            case ERROR -> log.error(event.format());
+            case WARN -> log.warn(event.format());
+            case INFO -> log.info(event.format());
+            case DEBUG -> log.debug(event.format());
+            case TRACE -> log.trace(event.format());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rockpaperscissors;
+
+import org.slf4j.event.Level;
+
+/**
+ * Everything the services and the rate limit filters report about games, rooms and matchmaking,
+ * with the level it is logged at. Every WARN type is a reason a request was rejected.
+ */
+public enum GameEventType {
+    GAME_CREATED(Level.INFO),
+    PLAYER_JOINED(Level.INFO),
+    MOVE_MADE(Level.DEBUG),
+    GAME_FINISHED(Level.INFO),
+    PLAYER_QUEUED(Level.DEBUG),
+
+    // Rejected requests
+    PLAYER_NAME_MISSING(Level.WARN),
+    MOVE_MISSING(Level.WARN),
+    GAME_NOT_FOUND(Level.WARN),
+    GAME_NOT_WAITING(Level.WARN),
+    GAME_NOT_IN_PROGRESS(Level.WARN),
+    INVALID_MOVE(Level.WARN),
+    INVALID_PLAYER(Level.WARN),
+    INVALID_BEST_OF(Level.WARN),
+    UNKNOWN_VARIANT(Level.WARN),
+    UNKNOWN_BOT_STRATEGY(Level.WARN),
+    MOVE_ALREADY_MADE(Level.WARN),
+    ROOM_FULL(Level.WARN),
+    ROOM_TOO_SMALL(Level.WARN),
+    TICKET_NOT_FOUND(Level.WARN),
+    TICKET_NOT_WAITING(Level.WARN),
+    PLAYER_ALREADY_QUEUED(Level.WARN),
+    RATE_LIMITED(Level.WARN);
+
+    private final Level level;
+
+    GameEventType(Level level) {
+        this.level = level;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+}
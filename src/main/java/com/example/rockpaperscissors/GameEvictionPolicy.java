@@ -0,0 +1,39 @@
+package com.example.rockpaperscissors;
+
+import java.time.Duration;
+
+/**
+ * How long games may stay in the store in each status, and how many games it may hold in total.
+ * The time to live starts over whenever a game changes status.
+ */
+public class GameEvictionPolicy {
+    private final long waitingTtlMillis;
+    private final long inProgressTtlMillis;
+    private final long finishedTtlMillis;
+    private final int maxGames;
+
+    public GameEvictionPolicy(Duration waitingTtl, Duration inProgressTtl, Duration finishedTtl, int maxGames) {
+        if (maxGames <= 0) {
+            throw new IllegalArgumentException("Maximum number of games must be positive: " + maxGames);
+        }
+        this.waitingTtlMillis = waitingTtl.toMillis();
+        this.inProgressTtlMillis = inProgressTtl.toMillis();
+        this.finishedTtlMillis = finishedTtl.toMillis();
+        this.maxGames = maxGames;
+    }
+
+    public long ttlMillis(GameStatus status) {
+        switch (status) {
+            case WAITING:
+                return waitingTtlMillis;
+            case IN_PROGRESS:
+                return inProgressTtlMillis;
+            default:
+                return finishedTtlMillis;
+        }
+    }
+
+    public int getMaxGames() {
+        return maxGames;
+    }
+}
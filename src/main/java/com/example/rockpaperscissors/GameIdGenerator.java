@@ -0,0 +1,14 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Source of unique game IDs. Implementations must be safe to call from many threads at once.
+ */
+public interface GameIdGenerator {
+
+    String nextId();
+
+    // When the ID was generated, in milliseconds since 1970, or -1 if the ID does not tell
+    default long createdAt(String id) {
+        return -1;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Returned when a player or a bot takes the second seat of a game.
+ */
+public record GameJoinedResponse(String id, String player) {
+}
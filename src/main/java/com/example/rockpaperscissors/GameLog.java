@@ -0,0 +1,664 @@
+package com.example.rockpaperscissors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Append-only write-ahead log of game changes, kept in memory-mapped segment files on local disk.
+ *
+ * Every record carries the full state of one game after a change (or its removal) and a log
+ * sequence number, so replaying a record twice gives the same result. A record is encoded before
+ * the append lock is taken; under the lock it is only copied into the mapped segment, which costs
+ * about a microsecond. Once copied, a record survives a crash of the process; {@link FsyncPolicy}
+ * decides when it is also forced to disk:
+ *
+ * <ul>
+ *   <li>ALWAYS: {@link #awaitDurable} blocks until the record is on disk. One sync thread forces
+ *       everything appended so far on behalf of all waiting writers (group commit). If forcing
+ *       fails, every waiting and later writer gets an error instead of waiting forever.</li>
+ *   <li>INTERVAL: the sync thread forces the segment every interval; writers never wait.</li>
+ *   <li>NEVER: the operating system writes pages back when it likes.</li>
+ * </ul>
+ *
+ * Segments are named after the sequence number of their first record. A torn or corrupt record
+ * ends the replay of its segment; writing always continues in a new segment after a restart, and a
+ * segment a crash left without a single record is deleted first so that its name is free again.
+ *
+ * So that replay does not grow with the store's history, the live games are written to a snapshot
+ * file at an interval and on close, after which the segments the snapshot covers are deleted.
+ * Startup loads the latest snapshot and replays only the records after it.
+ */
+public class GameLog implements AutoCloseable {
+
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+
+    public enum RecordType {
+        CREATED,
+        JOINED,
+        MOVED,
+        FINISHED,
+        REMOVED
+    }
+
+    /** A replayed record. Games are rebuilt from the state in the record, not from its type. */
+    static final class Record {
+        final long lsn;
+        final RecordType type;
+        final String id;
+        final String player1;
+        final String player2;
+        final long state;
+        final String variant;  // Null for the classic game
+        final long[] history;
+
+        Record(long lsn, RecordType type, String id, String player1, String player2, long state, String variant,
+               long[] history) {
+            this.lsn = lsn;
+            this.type = type;
+            this.id = id;
+            this.player1 = player1;
+            this.player2 = player2;
+            this.state = state;
+            this.variant = variant;
+            this.history = history;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(GameLog.class);
+
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int SNAPSHOT_MAGIC = 0x52505353;  // "RPSS"
+    private static final int HEADER_SIZE = 8;  // Payload length and CRC32C
+    private static final RecordType[] TYPES = RecordType.values();
+    static final long DURABLE_TIMEOUT_MILLIS = 10_000;  // Longest a writer waits for its record to reach the disk
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMillis;
+    private final long snapshotIntervalMillis;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private MappedByteBuffer segment;  // Guarded by appendLock, null until the first append
+    private long nextLsn = -1;         // Guarded by appendLock, set by replay
+
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition synced = syncLock.newCondition();
+    private long requestedLsn;         // Guarded by syncLock
+    private volatile long durableLsn;
+    private volatile RuntimeException syncFailure;  // Set when forcing fails; nothing is durable after that
+    private volatile boolean closed;
+    private Thread syncThread;
+
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private Collection<Game> snapshotSource;  // The live games, once the store has recovered
+    private ScheduledExecutorService snapshotter;
+    private long snapshotLsn;  // Guarded by snapshotLock
+
+    public GameLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis) {
+        this(directory, segmentSize, fsyncPolicy, fsyncIntervalMillis, 0);
+    }
+
+    /** A snapshot interval of 0 only takes a snapshot on close. */
+    public GameLog(Path directory, int segmentSize, FsyncPolicy fsyncPolicy, long fsyncIntervalMillis,
+                   long snapshotIntervalMillis) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    /**
+     * Hands every game in the latest snapshot and then every later record in the log to the consumer
+     * in order, then opens the log for appending. Games from the snapshot come as CREATED records
+     * carrying the snapshot's sequence number. Must be called exactly once, before the first append.
+     */
+    void replay(Consumer<Record> consumer) {
+        long lastLsn = 0;
+        try {
+            Files.createDirectories(directory);
+            deleteUnfinishedSnapshots();
+            Path snapshot = latestSnapshot();
+            long snapshotLsn = (snapshot == null) ? 0 : loadSnapshot(snapshot, consumer);
+            this.snapshotLsn = snapshotLsn;
+            lastLsn = snapshotLsn;
+            List<Path> segments = segments();
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size() && firstLsn(segments.get(i + 1)) <= snapshotLsn + 1) {
+                    continue;  // Covered by the snapshot, not yet deleted
+                }
+                lastLsn = Math.max(lastLsn, replaySegment(segments.get(i), snapshotLsn, consumer));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read game log in " + directory, e);
+        }
+        try {
+            // A crash right after rolling leaves a segment named after the next sequence number with
+            // no valid records in it; it holds nothing to keep and would block the next roll
+            for (Path segment : segments()) {
+                if (firstLsn(segment) > lastLsn) {
+                    logger.warn("Deleting game log segment {} with no records", segment.getFileName());
+                    Files.delete(segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read game log in " + directory, e);
+        }
+        appendLock.lock();
+        try {
+            nextLsn = lastLsn + 1;
+        } finally {
+            appendLock.unlock();
+        }
+        durableLsn = lastLsn;
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+            syncThread = new Thread(this::runSync, "game-log-sync");
+            syncThread.setDaemon(true);
+            syncThread.start();
+        }
+    }
+
+    /** Appends the game's current state and returns the record's sequence number. */
+    public long append(RecordType type, Game game) {
+        return append(encode(type, game.getId(), game.getPlayer1(), game.getPlayer2(), game.getState(),
+                game.getVariantName(), game.getHistory()));
+    }
+
+    /** Appends the removal of a game and returns the record's sequence number. */
+    public long appendRemoved(String id) {
+        return append(encode(RecordType.REMOVED, id, null, null, 0, null, null));
+    }
+
+    /**
+     * With the ALWAYS policy, waits until the record with the given sequence number is on disk.
+     * Throws if the disk could not be synced, or did not sync within {@link #DURABLE_TIMEOUT_MILLIS}.
+     */
+    public void awaitDurable(long lsn) {
+        if (fsyncPolicy != FsyncPolicy.ALWAYS || lsn <= durableLsn) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (lsn > requestedLsn) {
+                requestedLsn = lsn;
+                syncRequested.signal();
+            }
+            long remaining = TimeUnit.MILLISECONDS.toNanos(DURABLE_TIMEOUT_MILLIS);
+            while (durableLsn < lsn && !closed) {
+                if (syncFailure != null) {
+                    throw new IllegalStateException("Game log could not be synced to disk", syncFailure);
+                }
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Game log was not synced to disk within " + DURABLE_TIMEOUT_MILLIS + " ms");
+                }
+                remaining = synced.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the game log to sync", e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // True if awaitDurable can block, so callers on an event loop must hand their writes to another thread
+    public boolean isBlocking() {
+        return fsyncPolicy == FsyncPolicy.ALWAYS;
+    }
+
+    /**
+     * Starts taking snapshots of the given live view of the store's games. Called once the store
+     * has been rebuilt from {@link #replay}.
+     */
+    void snapshotFrom(Collection<Game> games) {
+        snapshotSource = games;
+        if (snapshotIntervalMillis > 0) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-log-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotter.scheduleWithFixedDelay(() -> {
+                try {
+                    snapshot();
+                } catch (RuntimeException e) {
+                    logger.warn("Game log snapshot failed", e);
+                }
+            }, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes every live game to a new snapshot file, then deletes older snapshots and the segments
+     * it covers. Runs alongside appends: the sequence number is read before the games are, so a
+     * change the snapshot misses (or half sees) is always in the tail replayed after it, and
+     * replaying a change the snapshot already holds sets the same state again.
+     */
+    void snapshot() {
+        if (snapshotSource == null) {
+            return;
+        }
+        snapshotLock.lock();
+        try {
+            long start = System.nanoTime();
+            long lsn;
+            appendLock.lock();
+            try {
+                lsn = nextLsn - 1;
+            } finally {
+                appendLock.unlock();
+            }
+            if (lsn == snapshotLsn) {
+                return;  // Nothing has changed since the last one
+            }
+            Path target = directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, lsn, SNAPSHOT_SUFFIX));
+            int count = writeSnapshot(target, lsn);
+            snapshotLsn = lsn;
+            deleteCoveredFiles(target, lsn);
+            logger.info("Wrote snapshot of {} games at sequence {} in {} ms", count, lsn,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write game log snapshot in " + directory, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        closed = true;
+        syncLock.lock();
+        try {
+            syncRequested.signal();
+        } finally {
+            syncLock.unlock();
+        }
+        if (syncThread != null) {
+            try {
+                syncThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        sync();
+        snapshot();  // So the next start has nothing left to replay
+    }
+
+    private long append(byte[] record) {
+        if (record.length > segmentSize) {
+            throw new IllegalArgumentException("Game log record of " + record.length + " bytes does not fit in a segment");
+        }
+        appendLock.lock();
+        try {
+            if (nextLsn < 0) {
+                throw new IllegalStateException("Game log must be replayed before appending");
+            }
+            if (segment == null || segment.remaining() < record.length) {
+                roll();
+            }
+            long lsn = nextLsn++;
+            segment.put(stamp(record, lsn));
+            return lsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Writes the sequence number into the encoded record and seals it with its checksum
+    private static byte[] stamp(byte[] record, long lsn) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        buffer.putLong(HEADER_SIZE, lsn);
+        CRC32C crc = new CRC32C();
+        crc.update(record, HEADER_SIZE, record.length - HEADER_SIZE);
+        buffer.putInt(4, (int) crc.getValue());
+        return record;
+    }
+
+    // Layout: length, crc, lsn, type, id, player1, player2, state, variant, series history;
+    // strings are length-prefixed UTF-8 and the history a count of longs, -1 for null
+    private static byte[] encode(RecordType type, String id, String player1, String player2, long state,
+                                 String variant, long[] history) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        byte[] player1Bytes = (player1 == null) ? null : player1.getBytes(StandardCharsets.UTF_8);
+        byte[] player2Bytes = (player2 == null) ? null : player2.getBytes(StandardCharsets.UTF_8);
+        byte[] variantBytes = (variant == null) ? null : variant.getBytes(StandardCharsets.UTF_8);
+        int payload = 8 + 1 + lengthOf(idBytes) + lengthOf(player1Bytes) + lengthOf(player2Bytes) + 8
+                + lengthOf(variantBytes) + 4 + ((history == null) ? 0 : 8 * history.length);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload);
+        buffer.putInt(payload).putInt(0).putLong(0).put((byte) type.ordinal());
+        putBytes(buffer, idBytes);
+        putBytes(buffer, player1Bytes);
+        putBytes(buffer, player2Bytes);
+        buffer.putLong(state);
+        putBytes(buffer, variantBytes);
+        putLongs(buffer, history);
+        return buffer.array();
+    }
+
+    private static int lengthOf(byte[] bytes) {
+        return 4 + ((bytes == null) ? 0 : bytes.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values) {
+        if (values == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(values.length);
+            for (long value : values) {
+                buffer.putLong(value);
+            }
+        }
+    }
+
+    private static long[] getLongs(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = buffer.getLong();
+        }
+        return values;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    // Called under appendLock; the finished segment is forced so the sync thread only ever needs the current one
+    private void roll() {
+        try {
+            if (segment != null) {
+                segment.force();
+            }
+            Path path = directory.resolve(String.format("%020d%s", nextLsn, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);  // Zero-filled, which marks the end
+            }
+            syncDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create game log segment in " + directory, e);
+        }
+    }
+
+    // Makes the new segment's directory entry durable too
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform
+        }
+    }
+
+    private void runSync() {
+        while (!closed) {
+            syncLock.lock();
+            try {
+                if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                    while (requestedLsn <= durableLsn && !closed) {
+                        syncRequested.awaitUninterruptibly();
+                    }
+                } else {
+                    syncRequested.await(fsyncIntervalMillis, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                syncLock.unlock();
+            }
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                // Pages that failed to write may be dropped by the OS, so a later sync proving nothing; stop here
+                logger.error("Game log sync failed; appends can no longer be made durable", e);
+                syncLock.lock();
+                try {
+                    syncFailure = e;
+                    synced.signalAll();
+                } finally {
+                    syncLock.unlock();
+                }
+                return;
+            }
+        }
+    }
+
+    // Forces everything appended so far and releases the writers waiting for it
+    private void sync() {
+        MappedByteBuffer current;
+        long target;
+        appendLock.lock();
+        try {
+            current = segment;
+            target = nextLsn - 1;
+        } finally {
+            appendLock.unlock();
+        }
+        if (current == null || target <= durableLsn) {
+            return;
+        }
+        force(current);  // Appends carry on meanwhile; they are picked up by the next sync
+        syncLock.lock();
+        try {
+            durableLsn = target;
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // Overridden by tests to make the disk fail
+    void force(MappedByteBuffer segment) {
+        segment.force();
+    }
+
+    List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            // Names are zero-padded, so name order is sequence order
+            return files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+    }
+
+    private static long firstLsn(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void deleteUnfinishedSnapshots() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(path -> path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX + ".tmp")).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private Path latestSnapshot() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(GameLog::isSnapshot).max(Path::compareTo).orElse(null);
+        }
+    }
+
+    private static boolean isSnapshot(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+    }
+
+    // Layout: magic, lsn, then per game a 1 followed by id, player1, player2, state, variant and series history,
+    // then a 0 and a CRC32C of it all
+    private int writeSnapshot(Path target, long lsn) throws IOException {
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(lsn);
+            for (Game game : snapshotSource) {
+                // Read the state before player2, so a join seen in the state always has its player
+                long state = game.getState();
+                long[] history = game.getHistory();
+                out.writeByte(1);
+                writeString(out, game.getId());
+                writeString(out, game.getPlayer1());
+                writeString(out, game.getPlayer2());
+                out.writeLong(state);
+                writeString(out, game.getVariantName());
+                if (history == null) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(history.length);
+                    for (long rounds : history) {
+                        out.writeLong(rounds);
+                    }
+                }
+                count++;
+            }
+            out.writeByte(0);
+            out.writeInt((int) checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory();
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    // Returns the snapshot's sequence number
+    private static long loadSnapshot(Path path, Consumer<Record> consumer) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 17 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt(bytes.length - 4) != (int) crc.getValue()) {
+            // Written to a temporary file and renamed, so this is damage rather than a torn write
+            throw new IOException("Corrupt game log snapshot " + path);
+        }
+        long lsn = buffer.getLong();
+        while (buffer.get() == 1) {
+            String id = getString(buffer);
+            String player1 = getString(buffer);
+            String player2 = getString(buffer);
+            long state = buffer.getLong();
+            String variant = getString(buffer);
+            consumer.accept(new Record(lsn, RecordType.CREATED, id, player1, player2, state, variant, getLongs(buffer)));
+        }
+        return lsn;
+    }
+
+    // Everything up to the snapshot's sequence number is in the snapshot; the current segment is always kept
+    private void deleteCoveredFiles(Path snapshot, long lsn) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.filter(GameLog::isSnapshot).toList()) {
+                if (path.compareTo(snapshot) < 0) {
+                    Files.delete(path);
+                }
+            }
+        }
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstLsn(segments.get(i + 1)) > lsn + 1) {
+                break;
+            }
+            Files.delete(segments.get(i));
+        }
+    }
+
+    // Returns the last sequence number found in the segment; records up to skipThrough are already in the snapshot
+    private static long replaySegment(Path path, long skipThrough, Consumer<Record> consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        long lastLsn = 0;
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;  // End of the written part, or a torn record
+            }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+
+            long lsn = record.getLong();
+            RecordType type = TYPES[record.get()];
+            String id = getString(record);
+            String player1 = getString(record);
+            String player2 = getString(record);
+            long state = record.getLong();
+            String variant = getString(record);
+            long[] history = getLongs(record);
+            if (lsn > skipThrough) {
+                consumer.accept(new Record(lsn, type, id, player1, player2, state, variant, history));
+            }
+            lastLsn = lsn;
+        }
+        return lastLsn;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.rockpaperscissors;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Micrometer meters for the game lifecycle, served at /actuator/prometheus.
+ *
+ * <ul>
+ *   <li>{@code game.requests}: latency histogram per {@link Operation}</li>
+ *   <li>{@code game.duration}: histogram of the time from creating a game to finishing it</li>
+ *   <li>{@code game.store.games}: games in the store per status</li>
+ *   <li>{@code game.rejections}: rejected requests per reason, one for each warning {@link GameEventType}</li>
+ * </ul>
+ *
+ * Every timer is built up front, so timing a request is two clock reads and one record into a
+ * timer found by array index, with no tag lookup. The gauges and rejection counters are read
+ * from counters the store and the event logger keep anyway, only when the registry is scraped.
+ */
+public class GameMetrics {
+
+    public enum Operation {
+        CREATE, JOIN, MOVE, GET
+    }
+
+    private final Timer[] requestTimers = new Timer[Operation.values().length];
+    private final Timer gameDuration;
+
+    public GameMetrics(MeterRegistry registry, GameStore gameStore, GameEventLogger eventLogger) {
+        for (Operation operation : Operation.values()) {
+            requestTimers[operation.ordinal()] = Timer.builder("game.requests")
+                    .description("Time taken to handle a game request")
+                    .tag("operation", operation.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(500))
+                    .maximumExpectedValue(Duration.ofSeconds(1))
+                    .register(registry);
+        }
+        gameDuration = Timer.builder("game.duration")
+                .description("Time from creating a game to finishing it")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(100))
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(registry);
+
+        gauge(registry, gameStore, "waiting", GameStoreStats::getWaiting);
+        gauge(registry, gameStore, "in_progress", GameStoreStats::getInProgress);
+        gauge(registry, gameStore, "finished", GameStoreStats::getFinished);
+
+        for (GameEventType type : GameEventType.values()) {
+            if (type.getLevel() == Level.WARN) {
+                FunctionCounter.builder("game.rejections", eventLogger, logger -> logger.getCount(type))
+                        .description("Requests rejected with an error response")
+                        .tag("reason", type.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+        }
+    }
+
+    private static void gauge(MeterRegistry registry, GameStore gameStore, String status,
+                              ToDoubleFunction<GameStoreStats> count) {
+        Gauge.builder("game.store.games", gameStore, store -> count.applyAsDouble(store.stats()))
+                .description("Games in the store")
+                .tag("status", status)
+                .register(registry);
+    }
+
+    // Records a request that started at the given System.nanoTime()
+    public void record(Operation operation, long startNanos) {
+        requestTimers[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordGameDuration(long millis) {
+        gameDuration.record(millis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.UncheckedIOException;
+import java.util.zip.CRC32;
+
+/**
+ * The serialized JSON of finished games, which never change again.
+ *
+ * A finished game is serialized the first time it is asked for and the bytes are kept on the game
+ * itself, so they go when the store evicts it. Every later GET writes the same array straight to
+ * the response. The ETag is the game's id and a checksum of those bytes, so a client that already
+ * has them gets a 304 from a string comparison. Games still being played are never cached.
+ */
+public class GameResponseCache {
+
+    /** The JSON of a finished game and the ETag it is served with. */
+    public record Entry(byte[] json, String etag) {
+    }
+
+    private final ObjectWriter writer;
+
+    public GameResponseCache(ObjectWriter writer) {
+        this.writer = writer;
+    }
+
+    // Null unless the game is finished
+    public Entry get(Game game) {
+        Entry entry = game.getCachedResponse();
+        if (entry != null || game.getStatus() != GameStatus.FINISHED) {
+            return entry;
+        }
+        // Two threads may both serialize a game that has just finished; the bytes are the same either way
+        entry = toEntry(game);
+        game.setCachedResponse(entry);
+        return entry;
+    }
+
+    // True if the If-None-Match header holds the entry's ETag, weak or strong, or is "*"
+    public static boolean matches(Entry entry, String ifNoneMatch) {
+        return ifNoneMatch != null && (ifNoneMatch.contains(entry.etag()) || ifNoneMatch.trim().equals("*"));
+    }
+
+    private Entry toEntry(Game game) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(game);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(json);
+        return new Entry(json, '"' + game.getId() + '-' + Long.toHexString(checksum.getValue()) + '"');
+    }
+}
@@ -1,5 +1,23 @@
 package com.example.rockpaperscissors;
 
+import java.util.List;
+
 public interface GameRule {
     String determineWinner(Move move1, Move move2);
-}
\ No newline at end of file
+
+    // Typed form of determineWinner; rules only need to override this if they can answer without strings
+    default Outcome outcome(Move move1, Move move2) {
+        return Outcome.fromWinner(determineWinner(move1, move2));
+    }
+
+    // Names of the moves the rule is played with, in index order; by default those of the Move enum
+    default List<String> moves() {
+        return Move.NAMES;
+    }
+
+    // Outcome for two moves given as indexes into moves(); rules with their own moves override this
+    default Outcome outcome(int move1, int move2) {
+        Move[] moves = Move.values();
+        return outcome(moves[move1], moves[move2]);
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * The game lifecycle behind the /api/games endpoints.
+ *
+ * Independent of the web stack, so the servlet {@link GameController} and the reactive
+ * {@link ReactiveGameRoutes} serve exactly the same behaviour. The only locks held are the store's
+ * per-game locks around in-memory transitions. The only I/O waited on is the write-ahead log when
+ * persistence is enabled with fsync=always: then a change returns once its record is on disk, and
+ * the reactive routes make changes on a worker thread rather than the event loop.
+ */
+public class GameService {
+
+    private final GameStore gameStore;
+    private final OutcomeTable outcomes;  // The strategy for determining the winner of classic games, precomputed
+    private final GameIdGenerator idGenerator;
+    private final GameEventLogger eventLogger;
+    private final GameUpdatePublisher updatePublisher;
+    private final PlayerStatistics playerStatistics;
+    private final BotPlayer botPlayer;
+    private final GameMetrics metrics;
+    private final GameResponseCache responseCache;
+    private final RateLimiter playerRateLimiter;
+
+    public GameService(GameStore gameStore, GameRule gameRule, GameIdGenerator idGenerator,
+                       GameEventLogger eventLogger, GameUpdatePublisher updatePublisher,
+                       PlayerStatistics playerStatistics, BotPlayer botPlayer, GameMetrics metrics,
+                       GameResponseCache responseCache, RateLimiter playerRateLimiter) {
+        this.gameStore = gameStore;
+        this.outcomes = OutcomeTable.of(gameRule);
+        this.idGenerator = idGenerator;
+        this.eventLogger = eventLogger;
+        this.updatePublisher = updatePublisher;
+        this.playerStatistics = playerStatistics;
+        this.botPlayer = botPlayer;
+        this.metrics = metrics;
+        this.responseCache = responseCache;
+        this.playerRateLimiter = playerRateLimiter;
+    }
+
+    // Create a new game
+    public ResponseEntity<?> createGame(CreateGameRequest request) {
+        long start = System.nanoTime();
+        ResponseEntity<?> response = create(request);
+        metrics.record(GameMetrics.Operation.CREATE, start);
+        return response;
+    }
+
+    public ResponseEntity<?> joinGame(String id, JoinGameRequest request) {
+        long start = System.nanoTime();
+        ResponseEntity<?> response = join(id, request);
+        metrics.record(GameMetrics.Operation.JOIN, start);
+        return response;
+    }
+
+    // Make a move in the game
+    public ResponseEntity<?> makeMove(String id, MoveRequest request) {
+        long start = System.nanoTime();
+        ResponseEntity<?> response = move(id, request);
+        metrics.record(GameMetrics.Operation.MOVE, start);
+        return response;
+    }
+
+    // Get the game state
+    public ResponseEntity<?> getGameState(String id) {
+        return getGameState(id, null);
+    }
+
+    // Get the game state, or 304 if the game is finished and the client already has it
+    public ResponseEntity<?> getGameState(String id, String ifNoneMatch) {
+        long start = System.nanoTime();
+        ResponseEntity<?> response = state(id, ifNoneMatch);
+        metrics.record(GameMetrics.Operation.GET, start);
+        return response;
+    }
+
+    private ResponseEntity<?> create(CreateGameRequest request) {
+        String playerName = request.name();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, null);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()));
+        }
+        ResponseEntity<?> limited = checkRateLimit(null, playerName);
+        if (limited != null) {
+            return limited;
+        }
+
+        // An optional odd number of rounds turns the game into a best-of-N series
+        int bestOf = (request.bestOf() == null) ? 1 : request.bestOf();
+        if (bestOf < 1 || bestOf % 2 == 0 || bestOf > Game.MAX_ROUNDS) {
+            eventLogger.log(GameEventType.INVALID_BEST_OF, null, playerName, bestOf);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Best of must be an odd number between 1 and " + Game.MAX_ROUNDS, HttpStatus.BAD_REQUEST.value()));
+        }
+
+        // Classic Rock, Paper, Scissors unless another variant is named
+        String variantName = request.variant();
+        GameVariant variant = (variantName == null) ? GameVariant.CLASSIC : GameVariant.named(variantName);
+        if (variant == null) {
+            eventLogger.log(GameEventType.UNKNOWN_VARIANT, null, playerName, variantName);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Unknown game variant", HttpStatus.BAD_REQUEST.value()));
+        }
+
+        String gameId = idGenerator.nextId();
+        Game game = new Game(gameId, playerName, bestOf, variant);
+        gameStore.save(game);
+
+        eventLogger.log(GameEventType.GAME_CREATED, gameId, playerName, null);
+        return ResponseEntity.ok(new GameCreatedResponse(gameId));
+    }
+
+    private ResponseEntity<?> join(String id, JoinGameRequest request) {
+        String playerName = request.name();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, id);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()));
+        }
+        ResponseEntity<?> limited = checkRateLimit(id, playerName);
+        if (limited != null) {
+            return limited;
+        }
+
+        // Check and transition under the game's lock so only one of several concurrent joiners wins
+        return gameStore.update(id, game -> {
+            if (game == null) {
+                eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()));
+            }
+
+            if (!game.join(playerName)) {
+                eventLogger.log(GameEventType.GAME_NOT_WAITING, id, playerName, game.getStatus());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("Game already in progress or finished", HttpStatus.BAD_REQUEST.value()));
+            }
+
+            eventLogger.log(GameEventType.PLAYER_JOINED, id, playerName, null);
+            updatePublisher.publish(game);
+            return ResponseEntity.ok(new GameJoinedResponse(id, playerName));
+        });
+    }
+
+    // Seat a bot as the second player of a waiting game
+    public ResponseEntity<?> addBot(String id, AddBotRequest request) {
+        String strategy = (request == null || request.strategy() == null) ? "markov" : request.strategy();
+        int bot = botPlayer.strategyNumber(strategy);
+        if (bot == 0) {
+            eventLogger.log(GameEventType.UNKNOWN_BOT_STRATEGY, id, BotPlayer.NAME, strategy);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Unknown bot strategy. Must be one of " + String.join(", ", botPlayer.strategyNames()) + ".",
+                            HttpStatus.BAD_REQUEST.value()));
+        }
+
+        return gameStore.update(id, game -> {
+            if (game == null) {
+                eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()));
+            }
+
+            if (!game.join(BotPlayer.NAME, bot)) {
+                eventLogger.log(GameEventType.GAME_NOT_WAITING, id, BotPlayer.NAME, game.getStatus());
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse("Game already in progress or finished", HttpStatus.BAD_REQUEST.value()));
+            }
+
+            eventLogger.log(GameEventType.PLAYER_JOINED, id, BotPlayer.NAME, strategy);
+            updatePublisher.publish(game);
+            return ResponseEntity.ok(new GameJoinedResponse(id, BotPlayer.NAME));
+        });
+    }
+
+    private ResponseEntity<?> move(String id, MoveRequest request) {
+        String playerName = request.name();
+        String moveString = request.move();
+
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, id);
+            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        if (moveString == null || moveString.isEmpty()) {
+            eventLogger.log(GameEventType.MOVE_MISSING, id, playerName, null);
+            return new ResponseEntity<>(new ErrorResponse("Move is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        ResponseEntity<?> limited = checkRateLimit(id, playerName);
+        if (limited != null) {
+            return limited;
+        }
+
+        // Everything below reads and writes the game, so it runs under the game's lock
+        return gameStore.update(id, game -> {
+            if (game == null) {
+                eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+                return new ResponseEntity<>(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+            }
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                eventLogger.log(GameEventType.GAME_NOT_IN_PROGRESS, id, playerName, game.getStatus());
+                return new ResponseEntity<>(new ErrorResponse("Game not in progress", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+
+            // Convert the move string to its index in the game's variant
+            GameVariant variant = game.getVariant();
+            int move = variant.indexOf(moveString);
+            if (move < 0) {
+                eventLogger.log(GameEventType.INVALID_MOVE, id, playerName, moveString);
+                String message = (variant == GameVariant.CLASSIC) ? "Invalid move. Must be Rock, Paper, or Scissors."
+                        : "Invalid move. Must be one of " + String.join(", ", variant.getMoves()) + ".";
+                return new ResponseEntity<>(new ErrorResponse(message, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+
+            // Assign the move to the correct player; the move completing the pair also decides the winner
+            boolean isPlayer1;
+            if (playerName.equalsIgnoreCase(game.getPlayer1())) {
+                isPlayer1 = true;
+            } else if (game.getBot() == 0 && playerName.equalsIgnoreCase(game.getPlayer2())) {
+                isPlayer1 = false;
+            } else {
+                eventLogger.log(GameEventType.INVALID_PLAYER, id, playerName, null);
+                return new ResponseEntity<>(new ErrorResponse("Invalid player", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            OutcomeTable table = (variant == GameVariant.CLASSIC) ? outcomes : variant.getOutcomes();
+            game.play(isPlayer1, move, table);
+            eventLogger.log(GameEventType.MOVE_MADE, id, playerName, variant.getMoves().get(move));
+
+            // A bot answers straight away, from what it knew before this move
+            if (game.getBot() != 0 && game.getStatus() == GameStatus.IN_PROGRESS) {
+                int botMove = botPlayer.chooseMove(game, game.getPlayer1(), table);
+                game.play(false, botMove, table);
+                eventLogger.log(GameEventType.MOVE_MADE, id, BotPlayer.NAME, variant.getMoves().get(botMove));
+            }
+            if (game.getBot() != 0) {
+                botPlayer.learn(variant, game.getPlayer1(), move);  // Only bot games need the player's habits
+            }
+
+            if (game.getStatus() == GameStatus.FINISHED) {
+                eventLogger.log(GameEventType.GAME_FINISHED, id, game.getWinnerName(), null);
+                playerStatistics.record(game);
+                long createdAt = idGenerator.createdAt(id);
+                if (createdAt >= 0) {
+                    metrics.recordGameDuration(System.currentTimeMillis() - createdAt);
+                }
+            }
+            updatePublisher.publish(game);
+
+            return ResponseEntity.ok(new MoveAcceptedResponse(id, playerName));
+        });
+    }
+
+    // Get the store's size and hit/expiry counters
+    public ResponseEntity<GameStoreStats> getStoreStats() {
+        return ResponseEntity.ok(gameStore.stats());
+    }
+
+    // Get a player's totals over all finished games
+    public ResponseEntity<?> getPlayerStats(String name) {
+        PlayerStats stats = playerStatistics.get(name);
+        if (stats == null) {
+            return new ResponseEntity<>(new ErrorResponse("Player not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    // Get the players with the most wins, best first
+    public ResponseEntity<?> getLeaderboard(int limit) {
+        int maxLimit = playerStatistics.getLeaderboardSize();
+        if (limit < 1 || limit > maxLimit) {
+            return new ResponseEntity<>(new ErrorResponse("Limit must be between 1 and " + maxLimit, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(playerStatistics.top(limit));
+    }
+
+    // Null if the player may go ahead, otherwise the 429 to answer with
+    private ResponseEntity<?> checkRateLimit(String id, String playerName) {
+        long wait = playerRateLimiter.tryAcquire(playerName);
+        if (wait == 0) {
+            return null;
+        }
+        eventLogger.log(GameEventType.RATE_LIMITED, id, playerName, null);
+        return RateLimiter.tooManyRequests(wait);
+    }
+
+    private ResponseEntity<?> state(String id, String ifNoneMatch) {
+        Game game = gameStore.get(id);
+        if (game == null) {
+            eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+            return new ResponseEntity<>(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+        }
+        // A finished game never changes, so it is served as the bytes it was first serialized to
+        GameResponseCache.Entry cached = responseCache.get(game);
+        if (cached == null) {
+            return ResponseEntity.ok(game);
+        }
+        if (GameResponseCache.matches(cached, ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cached.etag()).build();
+        }
+        return ResponseEntity.ok().eTag(cached.etag()).contentType(MediaType.APPLICATION_JSON).body(cached.json());
+    }
+
+    // Whether the game is in the store; not a GET, so not timed as one
+    public boolean hasGame(String id) {
+        return gameStore.get(id) != null;
+    }
+
+    /**
+     * Starts sending the game's state to the listener, beginning with its current state.
+     * Returns the action that unsubscribes the listener, or null if there is no such game.
+     */
+    public Runnable watchGame(String id, GameUpdateListener listener) {
+        // Subscribing under the game's lock means the first state sent is never older than a later update
+        Runnable unsubscribe = gameStore.update(id, game -> (game == null) ? null : updatePublisher.subscribe(game, listener));
+        if (unsubscribe == null) {
+            eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+        }
+        return unsubscribe;
+    }
+}
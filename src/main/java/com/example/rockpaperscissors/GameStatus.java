@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+public enum GameStatus {
+    WAITING,
+    IN_PROGRESS,
+    FINISHED
+}
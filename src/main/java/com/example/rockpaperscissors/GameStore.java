@@ -0,0 +1,29 @@
+package com.example.rockpaperscissors;
+
+import java.util.function.Function;
+
+/**
+ * Storage for games in flight.
+ *
+ * Implementations must be safe for concurrent use. All mutation of a stored {@link Game}
+ * has to happen inside {@link #update(String, Function)} so that two requests touching
+ * the same game (e.g. two players joining at once) are applied one after the other.
+ */
+public interface GameStore {
+
+    // Stores a new game under its ID
+    void save(Game game);
+
+    // Returns the game with the given ID, or null if there is none
+    Game get(String id);
+
+    /**
+     * Runs the action with exclusive access to the game with the given ID and returns its result.
+     * The action receives null when the game does not exist.
+     */
+    <T> T update(String id, Function<Game, T> action);
+
+    int size();
+
+    GameStoreStats stats();
+}
@@ -0,0 +1,64 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Point-in-time counters of a {@link GameStore}.
+ */
+public class GameStoreStats {
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long expired;
+    private final long evicted;
+    private final long waiting;
+    private final long inProgress;
+    private final long finished;
+
+    public GameStoreStats(int size, long hits, long misses, long expired, long evicted,
+                          long waiting, long inProgress, long finished) {
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.expired = expired;
+        this.evicted = evicted;
+        this.waiting = waiting;
+        this.inProgress = inProgress;
+        this.finished = finished;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // Lookups that found a game
+    public long getHits() {
+        return hits;
+    }
+
+    // Lookups for a game that was not there
+    public long getMisses() {
+        return misses;
+    }
+
+    // Games removed because their time to live ran out
+    public long getExpired() {
+        return expired;
+    }
+
+    // Games removed early to stay under the maximum number of games
+    public long getEvicted() {
+        return evicted;
+    }
+
+    // Games in the store waiting for a second player
+    public long getWaiting() {
+        return waiting;
+    }
+
+    public long getInProgress() {
+        return inProgress;
+    }
+
+    public long getFinished() {
+        return finished;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Receives the state of one game every time it changes. Called on the thread that changed the game,
+ * while the game's lock is held, so implementations must hand the update off rather than doing I/O.
+ */
+public interface GameUpdateListener {
+
+    // The game's new state, already serialized to JSON
+    void onUpdate(String json);
+
+    // The game has finished; no more updates will follow
+    void onComplete();
+}
@@ -0,0 +1,81 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Fans game state changes out to everyone watching a game.
+ *
+ * Publishing for a game nobody watches is a single map lookup. Otherwise the game is serialized
+ * once and the same JSON goes to every listener, however many there are. Once a game finishes its
+ * listeners are completed and forgotten.
+ */
+public class GameUpdatePublisher {
+
+    private final Map<String, List<GameUpdateListener>> listeners = new ConcurrentHashMap<>();
+    private final ObjectWriter writer;
+
+    public GameUpdatePublisher(ObjectWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Registers the listener and immediately sends it the game's current state.
+     * Running the returned action stops further updates.
+     */
+    public Runnable subscribe(Game game, GameUpdateListener listener) {
+        String id = game.getId();
+        listeners.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(listener);
+        // Sent after registering, so no change can fall between the snapshot and the first update
+        listener.onUpdate(toJson(game));
+        if (game.getStatus() == GameStatus.FINISHED) {
+            listener.onComplete();
+            unsubscribe(id, listener);
+        }
+        return () -> unsubscribe(id, listener);
+    }
+
+    // Call after every change to a game, while still holding its lock so updates go out in order
+    public void publish(Game game) {
+        List<GameUpdateListener> watchers = listeners.get(game.getId());
+        if (watchers == null) {
+            return;
+        }
+        String json = toJson(game);
+        boolean finished = game.getStatus() == GameStatus.FINISHED;
+        for (GameUpdateListener listener : watchers) {
+            listener.onUpdate(json);
+            if (finished) {
+                listener.onComplete();
+            }
+        }
+        if (finished) {
+            listeners.remove(game.getId());
+        }
+    }
+
+    public int watchedGames() {
+        return listeners.size();
+    }
+
+    private void unsubscribe(String id, GameUpdateListener listener) {
+        listeners.computeIfPresent(id, (key, watchers) -> {
+            watchers.remove(listener);
+            return watchers.isEmpty() ? null : watchers;
+        });
+    }
+
+    private String toJson(Game game) {
+        try {
+            return writer.writeValueAsString(game);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
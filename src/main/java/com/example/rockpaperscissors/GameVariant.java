@@ -0,0 +1,108 @@
+package com.example.rockpaperscissors;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A set of moves and the rule between them, chosen per game when it is created:
+ *
+ * <ul>
+ *   <li>classic: Rock, Paper, Scissors</li>
+ *   <li>rpsls: Rock, Paper, Scissors, Lizard, Spock</li>
+ *   <li>rps7: Rock, Fire, Scissors, Sponge, Paper, Air, Water</li>
+ *   <li>cyclic-N: a {@link CyclicGameRule} with moves MOVE_1 to MOVE_N, for any odd N from 3 to {@value #MAX_MOVES}</li>
+ * </ul>
+ *
+ * Each variant precomputes its {@link OutcomeTable}, so resolving a round costs the same whatever the
+ * number of moves. A game keeps its moves as indexes into the variant's list.
+ */
+public final class GameVariant {
+    static final int MAX_MOVES = 127;  // A series round keeps each move in 7 bits
+    private static final String CYCLIC_PREFIX = "cyclic-";
+
+    public static final GameVariant CLASSIC = new GameVariant("classic", new StandardGameRule());
+    private static final Map<String, GameVariant> VARIANTS = new ConcurrentHashMap<>();
+
+    static {
+        register(CLASSIC);
+        // Listed so that each move beats the ones right after it
+        register(new GameVariant("rpsls", new CyclicGameRule(List.of("ROCK", "SCISSORS", "LIZARD", "PAPER", "SPOCK"))));
+        register(new GameVariant("rps7", new CyclicGameRule(
+                List.of("ROCK", "FIRE", "SCISSORS", "SPONGE", "PAPER", "AIR", "WATER"))));
+    }
+
+    private final String name;
+    private final GameRule rule;
+    private final List<String> moves;
+    private final MoveLookup lookup;
+    private final OutcomeTable outcomes;
+
+    private GameVariant(String name, GameRule rule) {
+        this.name = name;
+        this.rule = rule;
+        this.moves = rule.moves();
+        this.outcomes = OutcomeTable.of(rule);
+        this.lookup = new MoveLookup(moves);
+    }
+
+    private static void register(GameVariant variant) {
+        VARIANTS.put(variant.name, variant);
+    }
+
+    /** Returns the variant with the given name, or null if there is none. */
+    public static GameVariant named(String name) {
+        GameVariant variant = VARIANTS.get(name);
+        if (variant != null || !name.startsWith(CYCLIC_PREFIX)) {
+            return variant;
+        }
+        int size;
+        try {
+            size = Integer.parseInt(name.substring(CYCLIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (size < 3 || size % 2 == 0 || size > MAX_MOVES || !name.equals(CYCLIC_PREFIX + size)) {
+            return null;
+        }
+        // At most one per odd size, so the cache stays small
+        return VARIANTS.computeIfAbsent(name, key -> new GameVariant(key, new CyclicGameRule(numberedMoves(size))));
+    }
+
+    private static List<String> numberedMoves(int size) {
+        String[] moves = new String[size];
+        for (int i = 0; i < size; i++) {
+            moves[i] = "MOVE_" + (i + 1);
+        }
+        return List.of(moves);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public GameRule getRule() {
+        return rule;
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public OutcomeTable getOutcomes() {
+        return outcomes;
+    }
+
+    // Case-insensitive and allocation-free; -1 if the variant has no such move
+    int indexOf(String move) {
+        return lookup.indexOf(move);
+    }
+
+    String moveAt(int index) {
+        return moves.get(index);
+    }
+
+    int size() {
+        return moves.size();
+    }
+}
@@ -0,0 +1,299 @@
+package com.example.rockpaperscissors;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrent in-memory {@link GameStore}.
+ *
+ * Lookups go straight to a {@link ConcurrentHashMap}. Updates are serialized per game with a
+ * fixed set of striped locks, so requests for different games run in parallel and there is
+ * no global lock. ReentrantLock is used rather than synchronized so that a waiting thread never
+ * pins its carrier when running on virtual threads.
+ *
+ * With a {@link GameEvictionPolicy} every game gets a deadline from the TTL of its status, which
+ * is tracked on a {@link TimerWheel} ticked by a background thread. Saving a game into a full
+ * store first evicts the game closest to its deadline. Removed games go to the {@link GameArchiver}.
+ *
+ * With a {@link GameLog} every change is appended to the log under the game's lock, so the log
+ * holds each game's changes in order, and the store is rebuilt from the log when it is created.
+ * Waiting for the change to reach the disk happens after the lock is released. The log takes its
+ * snapshots straight from the live map, without locking it.
+ */
+public class InMemoryGameStore implements GameStore, AutoCloseable {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<String, Game> games = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+
+    private final GameEvictionPolicy evictionPolicy;  // Null when games never expire
+    private final GameArchiver archiver;
+    private final GameLog log;  // Null when games are not persisted
+    private final LongSupplier clock;
+    private final TimerWheel wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final ScheduledExecutorService ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder[] statusCounts = new LongAdder[GameStatus.values().length];  // Games in the map per status
+
+    public InMemoryGameStore() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public InMemoryGameStore(int concurrencyLevel) {
+        this(concurrencyLevel, null, GameArchiver.NONE, 0, System::currentTimeMillis);
+    }
+
+    public InMemoryGameStore(GameEvictionPolicy evictionPolicy, GameArchiver archiver, long tickMillis) {
+        this(evictionPolicy, archiver, tickMillis, null);
+    }
+
+    public InMemoryGameStore(GameEvictionPolicy evictionPolicy, GameArchiver archiver, long tickMillis, GameLog log) {
+        this(4 * Runtime.getRuntime().availableProcessors(), evictionPolicy, archiver, tickMillis,
+                System::currentTimeMillis, log);
+    }
+
+    InMemoryGameStore(int concurrencyLevel, GameEvictionPolicy evictionPolicy, GameArchiver archiver,
+                      long tickMillis, LongSupplier clock) {
+        this(concurrencyLevel, evictionPolicy, archiver, tickMillis, clock, null);
+    }
+
+    InMemoryGameStore(int concurrencyLevel, GameEvictionPolicy evictionPolicy, GameArchiver archiver,
+                      long tickMillis, LongSupplier clock, GameLog log) {
+        // Round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(Math.max(16, concurrencyLevel) - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] = new LongAdder();
+        }
+
+        this.evictionPolicy = evictionPolicy;
+        this.archiver = archiver;
+        this.clock = clock;
+        this.log = log;
+        if (log != null) {
+            recover();
+            log.snapshotFrom(games.values());
+            for (Game game : games.values()) {
+                statusCounts[game.getStatus().ordinal()].increment();
+            }
+        }
+        if (evictionPolicy != null) {
+            this.wheel = new TimerWheel(tickMillis, WHEEL_SIZE, clock.getAsLong());
+            for (Game game : games.values()) {
+                scheduleExpiry(game);  // Recovered games start a fresh TTL
+            }
+            this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-store-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.wheel = null;
+            this.ticker = null;
+        }
+    }
+
+    @Override
+    public void save(Game game) {
+        statusCounts[game.getStatus().ordinal()].increment();
+        if (evictionPolicy == null && log == null) {
+            games.put(game.getId(), game);
+            return;
+        }
+        while (evictionPolicy != null && games.size() >= evictionPolicy.getMaxGames() && evictEarliest()) {
+            // Keep evicting until there is room
+        }
+        long lsn = 0;
+        ReentrantLock lock = stripeFor(game.getId());
+        lock.lock();
+        try {
+            if (evictionPolicy != null) {
+                game.setExpiresAt(clock.getAsLong() + evictionPolicy.ttlMillis(game.getStatus()));
+            }
+            games.put(game.getId(), game);
+            if (log != null) {
+                lsn = log.append(GameLog.RecordType.CREATED, game);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (evictionPolicy != null) {
+            // Only scheduled once the game is in the map, so the entry can never fire before it
+            wheel.schedule(game.getId(), game.getExpiresAt());
+        }
+        if (log != null) {
+            log.awaitDurable(lsn);
+        }
+    }
+
+    @Override
+    public Game get(String id) {
+        Game game = games.get(id);
+        (game != null ? hits : misses).increment();
+        return game;
+    }
+
+    @Override
+    public <T> T update(String id, Function<Game, T> action) {
+        T result;
+        long lsn = 0;
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            Game game = games.get(id);
+            (game != null ? hits : misses).increment();
+            if (game == null) {
+                return action.apply(null);
+            }
+            long stateBefore = game.getState();
+            GameStatus statusBefore = game.getStatus();
+            result = action.apply(game);
+            GameStatus statusAfter = game.getStatus();
+            if (statusBefore != statusAfter) {
+                statusCounts[statusBefore.ordinal()].decrement();
+                statusCounts[statusAfter.ordinal()].increment();
+            }
+            if (log != null && game.getState() != stateBefore) {
+                lsn = log.append(recordType(statusBefore, statusAfter), game);
+            }
+            if (evictionPolicy != null && statusBefore != statusAfter) {
+                scheduleExpiry(game);  // The old wheel entry goes stale and is skipped when it fires
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (lsn != 0) {
+            log.awaitDurable(lsn);
+        }
+        return result;
+    }
+
+    @Override
+    public int size() {
+        return games.size();
+    }
+
+    @Override
+    public GameStoreStats stats() {
+        return new GameStoreStats(games.size(), hits.sum(), misses.sum(), expired.sum(), evicted.sum(),
+                statusCounts[GameStatus.WAITING.ordinal()].sum(), statusCounts[GameStatus.IN_PROGRESS.ordinal()].sum(),
+                statusCounts[GameStatus.FINISHED.ordinal()].sum());
+    }
+
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    // Removes every game whose deadline has passed; runs on the ticker thread
+    void expireDue() {
+        wheelLock.lock();
+        try {
+            long now = clock.getAsLong();
+            wheel.advance(now, entry -> {
+                if (remove(entry.id, entry.deadline)) {
+                    expired.increment();
+                }
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    // Replays the log into the map; a record holds the whole game, so the last one for an ID wins
+    private void recover() {
+        log.replay(record -> {
+            if (record.type == GameLog.RecordType.REMOVED) {
+                games.remove(record.id);
+            } else {
+                GameVariant variant = (record.variant == null) ? GameVariant.CLASSIC : GameVariant.named(record.variant);
+                games.put(record.id, new Game(record.id, record.player1, record.player2, record.state, record.history, variant));
+            }
+        });
+    }
+
+    private static GameLog.RecordType recordType(GameStatus before, GameStatus after) {
+        if (after == GameStatus.FINISHED) {
+            return GameLog.RecordType.FINISHED;
+        }
+        return (before == GameStatus.WAITING) ? GameLog.RecordType.JOINED : GameLog.RecordType.MOVED;
+    }
+
+    // Returns false once there is nothing left to evict
+    private boolean evictEarliest() {
+        wheelLock.lock();
+        try {
+            TimerWheel.Entry entry;
+            while ((entry = wheel.pollEarliest()) != null) {
+                if (remove(entry.id, entry.deadline)) {
+                    evicted.increment();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void scheduleExpiry(Game game) {
+        long deadline = clock.getAsLong() + evictionPolicy.ttlMillis(game.getStatus());
+        game.setExpiresAt(deadline);
+        wheel.schedule(game.getId(), deadline);
+    }
+
+    // Removes the game only if the wheel entry is still current, i.e. its status has not changed since
+    private boolean remove(String id, long deadline) {
+        Game removed = null;
+        ReentrantLock lock = stripeFor(id);
+        lock.lock();
+        try {
+            Game game = games.get(id);
+            if (game != null && game.getExpiresAt() == deadline) {
+                games.remove(id);
+                statusCounts[game.getStatus().ordinal()].decrement();
+                removed = game;
+                if (log != null) {
+                    log.appendRemoved(id);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (removed == null) {
+            return false;
+        }
+        archiver.archive(removed);
+        return true;
+    }
+
+    private ReentrantLock stripeFor(String id) {
+        int h = id.hashCode();
+        // Spread the high bits down, same as HashMap does
+        return stripes[(h ^ (h >>> 16)) & stripeMask];
+    }
+}
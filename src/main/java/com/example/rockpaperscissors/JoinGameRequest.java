@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/games/{id}/join.
+ */
+public record JoinGameRequest(String name) {
+}
@@ -0,0 +1,30 @@
+package com.example.rockpaperscissors;
+
+/**
+ * One line of the leaderboard. Players are ranked by wins, ties broken by name.
+ */
+public class LeaderboardEntry implements Comparable<LeaderboardEntry> {
+    private final String name;
+    private final long wins;
+    final PlayerStats player;
+
+    LeaderboardEntry(PlayerStats player, long wins) {
+        this.name = player.getName();
+        this.wins = wins;
+        this.player = player;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    @Override
+    public int compareTo(LeaderboardEntry other) {
+        int byWins = Long.compare(other.wins, wins);  // Most wins first
+        return (byWins != 0) ? byWins : name.compareTo(other.name);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.rockpaperscissors;
+
+// Expects the opponent to follow their last move the way they usually do, falling back to their most frequent move
+public class MarkovBotStrategy implements BotStrategy {
+
+    @Override
+    public String getName() {
+        return "markov";
+    }
+
+    @Override
+    public int predict(PlayerMoveModel opponent) {
+        int next = opponent.mostLikelyNext();
+        return (next >= 0) ? next : opponent.mostFrequent();
+    }
+}
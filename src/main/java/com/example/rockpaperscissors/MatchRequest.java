@@ -0,0 +1,11 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/matchmaking. Players without a rating are matched with each other.
+ */
+public record MatchRequest(String name, Integer rating) {
+
+    public MatchRequest(String name) {
+        this(name, null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.rockpaperscissors;
+
+public enum MatchStatus {
+    WAITING,
+    MATCHED,
+    EXPIRED,
+    CANCELLED
+}
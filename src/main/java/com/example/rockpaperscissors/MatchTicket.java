@@ -0,0 +1,108 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A player waiting for an opponent. Every change of status is a compare-and-set from WAITING,
+ * so a ticket is matched, expired or cancelled exactly once.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"ticketId", "name", "rating", "status", "gameId"})
+public class MatchTicket {
+    private static final int WAITING = 0;
+    private static final int CLAIMED = 1;  // Taken by an opponent, game not created yet; reported as WAITING
+    private static final int MATCHED = 2;
+    private static final int EXPIRED = 3;
+    private static final int CANCELLED = 4;
+    private static final MatchStatus[] STATUSES =
+            {MatchStatus.WAITING, MatchStatus.WAITING, MatchStatus.MATCHED, MatchStatus.EXPIRED, MatchStatus.CANCELLED};
+    private static final VarHandle STATE;
+
+    static {
+        try {
+            STATE = MethodHandles.lookup().findVarHandle(MatchTicket.class, "state", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final String ticketId;
+    private final String name;
+    private final Integer rating;
+    private final long deadline;
+    private volatile int state;
+    private volatile String gameId;
+    private volatile long settledAt;  // When the ticket stopped waiting
+
+    MatchTicket(String ticketId, String name, Integer rating, long deadline) {
+        this.ticketId = ticketId;
+        this.name = name;
+        this.rating = rating;
+        this.deadline = deadline;
+    }
+
+    // Reserves a waiting ticket for an opponent; fails if it was taken, cancelled or has run out of time
+    boolean claim(long now) {
+        if (now >= deadline) {
+            expire(now);
+            return false;
+        }
+        return STATE.compareAndSet(this, WAITING, CLAIMED);
+    }
+
+    // Completes a claim once the game exists, so the game ID is never seen before the game
+    void matched(String gameId, long now) {
+        this.gameId = gameId;
+        this.settledAt = now;
+        state = MATCHED;
+    }
+
+    boolean expire(long now) {
+        return settle(EXPIRED, now);
+    }
+
+    boolean cancel(long now) {
+        return settle(CANCELLED, now);
+    }
+
+    private boolean settle(int finalState, long now) {
+        if (!STATE.compareAndSet(this, WAITING, finalState)) {
+            return false;
+        }
+        settledAt = now;
+        return true;
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    long getSettledAt() {
+        return settledAt;
+    }
+
+    // Getters
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public MatchStatus getStatus() {
+        return STATUSES[state];
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+}
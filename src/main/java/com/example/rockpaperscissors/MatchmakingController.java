@@ -0,0 +1,35 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/matchmaking")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // ReactiveGameRoutes serves reactive mode
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+
+    public MatchmakingController(MatchmakingService matchmakingService) {
+        this.matchmakingService = matchmakingService;
+    }
+
+    // Get matched with a waiting player, or wait for one
+    @PostMapping
+    public ResponseEntity<?> findMatch(@RequestBody MatchRequest request) {
+        return matchmakingService.findMatch(request);
+    }
+
+    // Check whether the ticket has been matched, and with which game
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<?> getTicket(@PathVariable String ticketId) {
+        return matchmakingService.getTicket(ticketId);
+    }
+
+    // Stop waiting for a match
+    @DeleteMapping("/{ticketId}")
+    public ResponseEntity<?> cancelTicket(@PathVariable String ticketId) {
+        return matchmakingService.cancelTicket(ticketId);
+    }
+}
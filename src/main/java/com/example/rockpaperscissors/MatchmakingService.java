@@ -0,0 +1,191 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Pairs players looking for a game behind the /api/matchmaking endpoints.
+ *
+ * Players are split into buckets by rating band (players without a rating share one bucket);
+ * ratings beyond {@link #MIN_RATING} and {@link #MAX_RATING} count as the nearest of the two.
+ * Within a bucket any two players are a valid match, so a player arriving while someone waits is
+ * always matched with them at once, and at most one player ever waits per bucket. The queue is
+ * therefore a single compare-and-set slot per bucket: arriving players either take the waiting
+ * ticket out of the slot or put their own in, without locking. A taken ticket is then claimed with
+ * its own compare-and-set, which fails if it was cancelled or ran out of time, so no ticket is
+ * matched twice. The matched pair goes into the store as a game already IN_PROGRESS.
+ *
+ * Tickets wait at most the configured time, tracked on a {@link TimerWheel}, and can be looked up
+ * for a while after they are settled.
+ */
+public class MatchmakingService implements AutoCloseable {
+
+    private static final int ANY_RATING = Integer.MIN_VALUE;
+    // Ratings outside this range share the band at its edge, so the number of bands is bounded
+    static final int MIN_RATING = 0;
+    static final int MAX_RATING = 5000;
+    private static final int WHEEL_SIZE = 512;
+
+    private final GameStore gameStore;
+    private final GameIdGenerator idGenerator;
+    private final GameEventLogger eventLogger;
+    private final int ratingBand;  // 0 puts everyone in one bucket
+    private final long maxWaitMillis;
+    private final long retentionMillis;
+    private final LongSupplier clock;
+
+    private final Map<Integer, AtomicReference<MatchTicket>> waiting = new ConcurrentHashMap<>();
+    private final Map<String, MatchTicket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong ticketSequence = new AtomicLong();
+    private final TimerWheel wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final ScheduledExecutorService ticker;
+
+    public MatchmakingService(GameStore gameStore, GameIdGenerator idGenerator, GameEventLogger eventLogger,
+                              int ratingBand, long maxWaitMillis, long retentionMillis) {
+        this(gameStore, idGenerator, eventLogger, ratingBand, maxWaitMillis, retentionMillis, 1000,
+                System::currentTimeMillis);
+    }
+
+    MatchmakingService(GameStore gameStore, GameIdGenerator idGenerator, GameEventLogger eventLogger,
+                       int ratingBand, long maxWaitMillis, long retentionMillis, long tickMillis, LongSupplier clock) {
+        this.gameStore = gameStore;
+        this.idGenerator = idGenerator;
+        this.eventLogger = eventLogger;
+        this.ratingBand = ratingBand;
+        this.maxWaitMillis = maxWaitMillis;
+        this.retentionMillis = retentionMillis;
+        this.clock = clock;
+        this.wheel = new TimerWheel(tickMillis, WHEEL_SIZE, clock.getAsLong());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matchmaking-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Match the player with whoever is waiting in their rating band, or queue them
+    public ResponseEntity<?> findMatch(MatchRequest request) {
+        String playerName = request.name();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, null);
+            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        Integer rating = request.rating();
+
+        long now = clock.getAsLong();
+        MatchTicket ticket = new MatchTicket("ticket-" + ticketSequence.incrementAndGet(), playerName, rating,
+                now + maxWaitMillis);
+        AtomicReference<MatchTicket> slot = waiting.computeIfAbsent(bucket(rating), bucket -> new AtomicReference<>());
+        while (true) {
+            MatchTicket waiter = slot.get();
+            if (waiter == null) {
+                if (slot.compareAndSet(null, ticket)) {
+                    tickets.put(ticket.getTicketId(), ticket);
+                    wheel.schedule(ticket.getTicketId(), ticket.getDeadline());
+                    eventLogger.log(GameEventType.PLAYER_QUEUED, null, playerName, ticket.getTicketId());
+                    return ResponseEntity.ok(ticket);
+                }
+            } else if (waiter.getName().equalsIgnoreCase(playerName) && waiter.getStatus() == MatchStatus.WAITING
+                    && now < waiter.getDeadline()) {
+                // Taking their own ticket would start a game against themselves
+                eventLogger.log(GameEventType.PLAYER_ALREADY_QUEUED, null, playerName, waiter.getTicketId());
+                return new ResponseEntity<>(new ErrorResponse("Player is already waiting for a match", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            } else if (slot.compareAndSet(waiter, null) && waiter.claim(now)) {
+                ticket.claim(now);  // Never published, so this cannot fail
+                startGame(waiter, ticket, now);
+                return ResponseEntity.ok(ticket);
+            }
+            // Lost a race, or the waiter had expired or cancelled and is now out of the slot: look again
+        }
+    }
+
+    public ResponseEntity<?> getTicket(String ticketId) {
+        MatchTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            eventLogger.log(GameEventType.TICKET_NOT_FOUND, null, null, ticketId);
+            return new ResponseEntity<>(new ErrorResponse("Ticket not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+        }
+        long now = clock.getAsLong();
+        if (now >= ticket.getDeadline()) {
+            ticket.expire(now);  // Don't wait for the wheel to report a ticket that has run out of time
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
+    // Stop waiting; the ticket stays in its slot until the next player in its band skips it
+    public ResponseEntity<?> cancelTicket(String ticketId) {
+        MatchTicket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            eventLogger.log(GameEventType.TICKET_NOT_FOUND, null, null, ticketId);
+            return new ResponseEntity<>(new ErrorResponse("Ticket not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+        }
+        long now = clock.getAsLong();
+        if (now >= ticket.getDeadline() || !ticket.cancel(now)) {
+            ticket.expire(now);
+            eventLogger.log(GameEventType.TICKET_NOT_WAITING, null, ticket.getName(), ticketId);
+            return new ResponseEntity<>(new ErrorResponse("Ticket already matched or expired", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    // Expires tickets that have waited too long and forgets settled ones; runs on the ticker thread
+    void expireDue() {
+        wheelLock.lock();
+        try {
+            long now = clock.getAsLong();
+            wheel.advance(now, entry -> {
+                MatchTicket ticket = tickets.get(entry.id);
+                if (ticket == null) {
+                    return;
+                }
+                ticket.expire(now);
+                long settledAt = ticket.getSettledAt();
+                long removeAt = ((settledAt == 0) ? now : settledAt) + retentionMillis;
+                if (removeAt <= now) {
+                    tickets.remove(entry.id);
+                } else {
+                    wheel.schedule(entry.id, removeAt);
+                }
+            });
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void startGame(MatchTicket waiter, MatchTicket arrival, long now) {
+        Game game = new Game(idGenerator.nextId(), waiter.getName());
+        game.join(arrival.getName());
+        gameStore.save(game);
+        eventLogger.log(GameEventType.GAME_CREATED, game.getId(), waiter.getName(), waiter.getTicketId());
+        eventLogger.log(GameEventType.PLAYER_JOINED, game.getId(), arrival.getName(), arrival.getTicketId());
+
+        waiter.matched(game.getId(), now);
+        arrival.matched(game.getId(), now);
+        tickets.put(arrival.getTicketId(), arrival);
+        wheel.schedule(arrival.getTicketId(), now + retentionMillis);
+    }
+
+    private int bucket(Integer rating) {
+        if (rating == null) {
+            return ANY_RATING;
+        }
+        return (ratingBand <= 0) ? 0 : Math.clamp(rating, MIN_RATING, MAX_RATING) / ratingBand;
+    }
+}
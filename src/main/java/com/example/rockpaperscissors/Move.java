@@ -1,7 +1,13 @@
 package com.example.rockpaperscissors;
 
+import java.util.Arrays;
+import java.util.List;
+
+// The moves of the classic game; other variants name their moves in their GameRule
 public enum Move {
     ROCK,
     PAPER,
-    SCISSORS
-}
\ No newline at end of file
+    SCISSORS;
+
+    static final List<String> NAMES = Arrays.stream(values()).map(Enum::name).toList();
+}
@@ -0,0 +1,8 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Returned when a move is accepted. The game's or room's state, including any winner, comes from
+ * GET /api/games/{id} or GET /api/rooms/{id}.
+ */
+public record MoveAcceptedResponse(String id, String player) {
+}
@@ -0,0 +1,83 @@
+package com.example.rockpaperscissors;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive lookup from a move's name to its index in a variant, without allocating.
+ *
+ * The upper-cased names are placed once in an open-addressing table at least twice their number.
+ * The input is upper-cased one character at a time while it is hashed and while it is compared
+ * with a candidate, so it is never copied into an upper-case string; ASCII letters are folded with
+ * a comparison instead of a call to {@link Character#toUpperCase(char)}. A name longer or shorter
+ * than every move is rejected before it is even hashed, which makes junk input the cheapest case.
+ */
+final class MoveLookup {
+    private final String[] names;
+    private final int[] slots;  // Index + 1 of the move hashed to each slot, 0 when empty
+    private final int mask;
+    private final int minLength;
+    private final int maxLength;
+
+    MoveLookup(List<String> moves) {
+        this.names = moves.stream().map(move -> move.toUpperCase(Locale.ROOT)).toArray(String[]::new);
+        int size = Integer.highestOneBit(Math.max(4, names.length * 2) - 1) << 1;
+        this.slots = new int[size];
+        this.mask = size - 1;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (int i = 0; i < names.length; i++) {
+            int slot = hash(names[i]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+            min = Math.min(min, names[i].length());
+            max = Math.max(max, names[i].length());
+        }
+        this.minLength = min;
+        this.maxLength = max;
+    }
+
+    // -1 if there is no such move
+    int indexOf(String move) {
+        int length = move.length();
+        if (length < minLength || length > maxLength) {
+            return -1;
+        }
+        for (int slot = hash(move) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            if (matches(names[index], move)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(String name, String move) {
+        if (name.length() != move.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) != upperCase(move.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + upperCase(name.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static char upperCase(char c) {
+        if (c < 128) {
+            return (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+        }
+        return Character.toUpperCase(c);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/games/{id}/move and /api/rooms/{id}/move. The move is matched
+ * case-insensitively against the game's or room's variant.
+ */
+public record MoveRequest(String name, String move) {
+}
@@ -0,0 +1,22 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Result of one round, seen from the order the moves were given in.
+ */
+public enum Outcome {
+    PLAYER1_WINS,
+    PLAYER2_WINS,
+    TIE;
+
+    // Maps the "Player1" / "Player2" / "TIE" strings returned by GameRule.determineWinner
+    public static Outcome fromWinner(String winner) {
+        if ("Player1".equals(winner)) {
+            return PLAYER1_WINS;
+        } else if ("Player2".equals(winner)) {
+            return PLAYER2_WINS;
+        } else if ("TIE".equals(winner)) {
+            return TIE;
+        }
+        throw new IllegalArgumentException("Unknown winner: " + winner);
+    }
+}
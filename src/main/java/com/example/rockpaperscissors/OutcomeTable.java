@@ -0,0 +1,81 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Every outcome of a {@link GameRule}, computed once up front.
+ *
+ * Resolving a pair of moves is then a single array lookup with no branching and no allocation,
+ * whatever the rule does internally. Moves are indexes into the rule's {@link GameRule#moves()}.
+ *
+ * For rounds with more than two players the table also keeps, per move, a bitmap of the moves that
+ * beat it, so checking a move against every move played in a round is a few word-wide ANDs.
+ */
+public final class OutcomeTable {
+
+    private final int size;
+    private final Outcome[] outcomes;
+    private final int words;  // Longs per move bitmap
+    private final long[] beatenBy;  // The moves beating each move, one bitmap of `words` longs per move
+    private final int[] counters;  // For each move, the first move that beats it, or -1
+
+    private OutcomeTable(int size, Outcome[] outcomes) {
+        this.size = size;
+        this.outcomes = outcomes;
+        this.words = (size + Long.SIZE - 1) / Long.SIZE;
+        this.beatenBy = new long[size * words];
+        this.counters = new int[size];
+        for (int move = 0; move < size; move++) {
+            counters[move] = -1;
+            for (int other = size - 1; other >= 0; other--) {
+                if (outcomes[other * size + move] == Outcome.PLAYER1_WINS) {
+                    beatenBy[move * words + other / Long.SIZE] |= 1L << other;
+                    counters[move] = other;
+                }
+            }
+        }
+    }
+
+    public static OutcomeTable of(GameRule rule) {
+        int size = rule.moves().size();
+        Outcome[] outcomes = new Outcome[size * size];
+        for (int move1 = 0; move1 < size; move1++) {
+            for (int move2 = 0; move2 < size; move2++) {
+                outcomes[move1 * size + move2] = rule.outcome(move1, move2);
+            }
+        }
+        return new OutcomeTable(size, outcomes);
+    }
+
+    public Outcome resolve(int move1, int move2) {
+        return outcomes[move1 * size + move2];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // A bitmap large enough for a set of this rule's moves
+    public long[] newMoveSet() {
+        return new long[words];
+    }
+
+    // True if any move in the set, as built in a bitmap from newMoveSet(), beats the given move
+    public boolean isBeatenByAny(int move, long[] moveSet) {
+        int base = move * words;
+        for (int i = 0; i < words; i++) {
+            if ((beatenBy[base + i] & moveSet[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A move that beats the given one, or -1 if nothing does
+    public int counterTo(int move) {
+        return counters[move];
+    }
+
+    // For rules played with the Move enum
+    public Outcome resolve(Move move1, Move move2) {
+        return resolve(move1.ordinal(), move2.ordinal());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/players")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // ReactiveGameRoutes serves reactive mode
+public class PlayerController {
+
+    private final GameService gameService;
+
+    public PlayerController(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    // Get the players with the most wins
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@RequestParam(defaultValue = "100") int limit) {
+        return gameService.getLeaderboard(limit);
+    }
+
+    // Get a player's wins, losses, ties and moves
+    @GetMapping("/{name}/stats")
+    public ResponseEntity<?> getPlayerStats(@PathVariable String name) {
+        return gameService.getPlayerStats(name);
+    }
+}
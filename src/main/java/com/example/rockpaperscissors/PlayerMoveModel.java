@@ -0,0 +1,69 @@
+package com.example.rockpaperscissors;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * What a player tends to throw in one variant: how often they threw each move, and how often each
+ * move followed each previous move (a first-order Markov chain over their moves).
+ *
+ * Learning a move is two atomic increments, and a prediction is one scan of a row of counts, so
+ * both can run inside a move request without allocating or looking at past games again. Counts
+ * from games the player has going at the same time interleave, which only blurs the chain a little.
+ */
+public class PlayerMoveModel {
+    private final int size;
+    private final AtomicIntegerArray frequencies;
+    private final AtomicIntegerArray transitions;  // Row per previous move, column per next move
+    private volatile int lastMove = -1;
+    volatile long lastUsed;  // System.nanoTime() of the last lookup, for BotPlayer's eviction
+
+    public PlayerMoveModel(int size) {
+        this.size = size;
+        this.frequencies = new AtomicIntegerArray(size);
+        this.transitions = new AtomicIntegerArray(size * size);
+    }
+
+    public void learn(int move) {
+        frequencies.incrementAndGet(move);
+        int previous = lastMove;
+        if (previous >= 0) {
+            transitions.incrementAndGet(previous * size + move);
+        }
+        lastMove = move;
+    }
+
+    // Forgets everything learned, so the model can be reused
+    void reset() {
+        for (int i = 0; i < frequencies.length(); i++) {
+            frequencies.set(i, 0);
+        }
+        for (int i = 0; i < transitions.length(); i++) {
+            transitions.set(i, 0);
+        }
+        lastMove = -1;
+    }
+
+    // The player's most frequent move, or -1 before their first one
+    public int mostFrequent() {
+        return argMax(frequencies, 0);
+    }
+
+    // The move that most often followed the player's last move, or -1 if there is none yet
+    public int mostLikelyNext() {
+        int previous = lastMove;
+        return (previous < 0) ? -1 : argMax(transitions, previous * size);
+    }
+
+    private int argMax(AtomicIntegerArray counts, int offset) {
+        int best = -1;
+        int bestCount = 0;
+        for (int move = 0; move < size; move++) {
+            int count = counts.get(offset + move);
+            if (count > bestCount) {
+                best = move;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+}
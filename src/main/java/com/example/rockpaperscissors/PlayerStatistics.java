@@ -0,0 +1,204 @@
+package com.example.rockpaperscissors;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-player statistics and a top-K leaderboard, updated incrementally as games finish.
+ *
+ * The leaderboard only ever holds the best K players in a sorted skip list, so reading the top
+ * players walks at most K entries and never sorts the whole population. Wins only go up, so a
+ * player outside the top K can only get in when they win, which is when they are checked.
+ * Leaderboard changes are serialized by one lock, taken at most once per finished game; reads
+ * do not lock.
+ *
+ * Names are matched ignoring case, as in games, and the bot is not a player here. Names come from
+ * clients, so at most the configured number of players are kept: when a new one takes the map past
+ * it, a {@link Sweeper} drops the players who finished a game longest ago, apart from those on the
+ * leaderboard, until three quarters are left. A dropped player starts again from zero.
+ */
+public class PlayerStatistics implements AutoCloseable {
+
+    private final Map<String, PlayerStats> players = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<LeaderboardEntry> leaderboard = new ConcurrentSkipListSet<>();
+    private final ReentrantLock leaderboardLock = new ReentrantLock();
+    private int ranked;  // Leaderboard entries, as the skip list's size() is not constant time; guarded by leaderboardLock
+    private final int leaderboardSize;
+    private final int maxPlayers;
+    private final Sweeper sweeper;
+
+    public PlayerStatistics(int leaderboardSize) {
+        this(leaderboardSize, 100_000);
+    }
+
+    public PlayerStatistics(int leaderboardSize, int maxPlayers) {
+        this(leaderboardSize, maxPlayers, null);
+    }
+
+    // A null executor sweeps on a thread of the sweeper's own
+    PlayerStatistics(int leaderboardSize, int maxPlayers, Executor sweeps) {
+        if (leaderboardSize < 1 || maxPlayers < leaderboardSize) {
+            throw new IllegalArgumentException("Leaderboard size must be at least 1 and max players at least the leaderboard size");
+        }
+        this.leaderboardSize = leaderboardSize;
+        this.maxPlayers = maxPlayers;
+        this.sweeper = (sweeps == null) ? new Sweeper("player-stats-sweeper", this::evict) : new Sweeper(sweeps, this::evict);
+    }
+
+    /** Adds a finished game to its players' totals, leaving out a bot. */
+    public void record(Game game) {
+        PlayerStats player1 = statsFor(game.getPlayer1());
+        PlayerStats player2 = (game.getBot() != 0) ? null : statsFor(game.getPlayer2());
+        List<SeriesRound> rounds = game.getRounds();
+        if (rounds == null) {
+            recordMoves(player1, player2, game.getPlayer1Move(), game.getPlayer2Move());
+        } else {
+            for (SeriesRound round : rounds) {
+                recordMoves(player1, player2, round.getPlayer1Move(), round.getPlayer2Move());
+            }
+        }
+        switch (game.getOutcome()) {
+            case PLAYER1_WINS -> {
+                player1.recordWin();
+                if (player2 != null) {
+                    player2.recordLoss();
+                }
+                rank(player1);
+            }
+            case PLAYER2_WINS -> {
+                player1.recordLoss();
+                if (player2 != null) {
+                    player2.recordWin();
+                    rank(player2);
+                }
+            }
+            default -> {
+                player1.recordTie();
+                if (player2 != null) {
+                    player2.recordTie();
+                }
+            }
+        }
+    }
+
+    public PlayerStats get(String name) {
+        return players.get(key(name));
+    }
+
+    int size() {
+        return players.size();
+    }
+
+    @Override
+    public void close() {
+        sweeper.close();
+    }
+
+    /** Returns up to the given number of players with the most wins, best first. */
+    public List<LeaderboardEntry> top(int limit) {
+        List<LeaderboardEntry> top = new ArrayList<>(Math.min(limit, leaderboardSize));
+        Iterator<LeaderboardEntry> entries = leaderboard.iterator();
+        while (top.size() < limit && entries.hasNext()) {
+            top.add(entries.next());
+        }
+        return top;
+    }
+
+    public int getLeaderboardSize() {
+        return leaderboardSize;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static void recordMoves(PlayerStats player1, PlayerStats player2, String move1, String move2) {
+        player1.recordMove(move1);
+        if (player2 != null) {
+            player2.recordMove(move2);
+        }
+    }
+
+    private PlayerStats statsFor(String name) {
+        String key = key(name);
+        PlayerStats stats = players.get(key);
+        if (stats != null) {
+            stats.lastPlayed = System.nanoTime();
+            return stats;
+        }
+        stats = players.computeIfAbsent(key, k -> new PlayerStats(k, name));
+        stats.lastPlayed = System.nanoTime();  // Before sweeping, so a new player is never the first to go
+        if (players.size() > maxPlayers) {
+            sweeper.request();
+        }
+        return stats;
+    }
+
+    // Moves the player to their current number of wins, if that gets them into the top K
+    private void rank(PlayerStats player) {
+        leaderboardLock.lock();
+        try {
+            if (players.get(player.key) != player) {
+                return;  // Dropped by the sweeper since this game started
+            }
+            long wins = player.getWins();
+            if (wins == player.rankedWins) {
+                return;  // Another thread already ranked this win
+            }
+            if (player.rankedWins >= 0) {
+                leaderboard.remove(new LeaderboardEntry(player, player.rankedWins));
+                ranked--;
+            }
+            LeaderboardEntry entry = new LeaderboardEntry(player, wins);
+            if (ranked < leaderboardSize || entry.compareTo(leaderboard.last()) < 0) {
+                leaderboard.add(entry);
+                ranked++;
+                player.rankedWins = wins;
+            } else {
+                player.rankedWins = -1;
+            }
+            if (ranked > leaderboardSize) {
+                leaderboard.pollLast().player.rankedWins = -1;
+                ranked--;
+            }
+        } finally {
+            leaderboardLock.unlock();
+        }
+    }
+
+    // On the sweeper's thread; takes the leaderboard lock per player, so ranking never waits long
+    private void evict() {
+        int excess = players.size() - (maxPlayers - maxPlayers / 4);
+        if (excess <= 0) {
+            return;
+        }
+        record Played(PlayerStats stats, long lastPlayed) {
+        }
+        List<Played> all = new ArrayList<>(players.size());
+        for (PlayerStats stats : players.values()) {
+            all.add(new Played(stats, stats.lastPlayed));
+        }
+        all.sort(Comparator.comparingLong(Played::lastPlayed));
+        for (Played played : all) {
+            if (excess <= 0) {
+                break;
+            }
+            leaderboardLock.lock();
+            try {
+                if (played.stats().rankedWins < 0 && players.remove(played.stats().key, played.stats())) {
+                    excess--;
+                }
+            } finally {
+                leaderboardLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.rockpaperscissors;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one player, updated as their games finish.
+ *
+ * Counters are LongAdders, so players finishing many games at once never contend on a single
+ * field. Reads add up the cells and are not a consistent snapshot across counters.
+ */
+public class PlayerStats {
+    final String key;  // The name as PlayerStatistics looks it up, ignoring case
+    private final String name;
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder losses = new LongAdder();
+    private final LongAdder ties = new LongAdder();
+    private final Map<String, LongAdder> moves = new ConcurrentHashMap<>();  // By move name, over all variants
+
+    long rankedWins = -1;  // Wins this player is listed with on the leaderboard, -1 when not listed; guarded by its lock
+    volatile long lastPlayed;  // System.nanoTime() of the last finished game, for PlayerStatistics' eviction
+
+    PlayerStats(String key, String name) {
+        this.key = key;
+        this.name = name;
+        for (String move : Move.NAMES) {
+            moves.put(move, new LongAdder());
+        }
+    }
+
+    void recordWin() {
+        wins.increment();
+    }
+
+    void recordLoss() {
+        losses.increment();
+    }
+
+    void recordTie() {
+        ties.increment();
+    }
+
+    void recordMove(String move) {
+        moves.computeIfAbsent(move, key -> new LongAdder()).increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWins() {
+        return wins.sum();
+    }
+
+    public long getLosses() {
+        return losses.sum();
+    }
+
+    public long getTies() {
+        return ties.sum();
+    }
+
+    public long getGamesPlayed() {
+        return getWins() + getLosses() + getTies();
+    }
+
+    // How often the player threw each move, over every round of every game; the classic moves come first and are always listed
+    public Map<String, Long> getMoves() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (String move : Move.NAMES) {
+            counts.put(move, moves.get(move).sum());
+        }
+        moves.forEach((move, count) -> counts.putIfAbsent(move, count.sum()));
+        return counts;
+    }
+}
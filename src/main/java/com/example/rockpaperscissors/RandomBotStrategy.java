@@ -0,0 +1,15 @@
+package com.example.rockpaperscissors;
+
+// Throws uniformly at random, which cannot be exploited but never exploits anyone either
+public class RandomBotStrategy implements BotStrategy {
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public int predict(PlayerMoveModel opponent) {
+        return -1;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets, used to limit requests per player name and per client address.
+ *
+ * Each bucket is a single {@link AtomicLong}: the time at which it would be full again, as in the
+ * generic cell rate algorithm. A request takes a token by moving that time one interval further
+ * with a compare-and-set, and is refused if that would put it more than a burst ahead of now, so
+ * checking a key is a map lookup, a clock read and a CAS, with no lock and no allocation once the
+ * key is known.
+ *
+ * A bucket whose time has passed is full and behaves exactly like a new one, so it can be dropped
+ * without losing anything. When a new key takes the map past its limit, the thread that added it
+ * only asks a {@link Sweeper}, which on its own thread removes every full bucket, and if that is not
+ * enough also drops the active ones closest to full, until the map is back to three quarters of
+ * its limit. Those have used the least of their burst, so the keys that are being limited hardest
+ * keep their state, and a flood of distinct keys costs a sort per quarter of the limit, off the
+ * request path, rather than memory.
+ */
+public class RateLimiter implements AutoCloseable {
+
+    private final long interval;  // Nanoseconds per token, 0 when unlimited
+    private final long burstWindow;  // How far ahead of now a bucket may be emptied
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Sweeper sweeper;
+
+    /** A limit of 0 requests per second turns limiting off. */
+    public RateLimiter(double perSecond, int burst, int maxKeys) {
+        this(perSecond, burst, maxKeys, System::nanoTime, null);
+    }
+
+    // A null executor sweeps on a thread of the sweeper's own
+    RateLimiter(double perSecond, int burst, int maxKeys, LongSupplier clock, Executor sweeps) {
+        if (perSecond < 0 || burst < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Rate must not be negative and burst and max keys must be at least 1");
+        }
+        this.interval = (perSecond == 0) ? 0 : Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        this.burstWindow = interval * burst;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.sweeper = (sweeps == null) ? new Sweeper("rate-limit-sweeper", this::evict) : new Sweeper(sweeps, this::evict);
+    }
+
+    /**
+     * Takes a token from the key's bucket. Returns 0 if there was one, otherwise the nanoseconds
+     * until there will be.
+     */
+    public long tryAcquire(String key) {
+        if (interval == 0) {
+            return 0;
+        }
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            if (buckets.size() > maxKeys) {
+                sweeper.request();
+            }
+        }
+        while (true) {
+            long full = bucket.get();
+            long next = ((full - now > 0) ? full : now) + interval;
+            long ahead = next - now;
+            if (ahead > burstWindow) {
+                return ahead - burstWindow;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** The 429 for a request refused by a limiter, telling the client when to retry. */
+    public static ResponseEntity<ErrorResponse> tooManyRequests(long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(new ErrorResponse("Too many requests", HttpStatus.TOO_MANY_REQUESTS.value()));
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void close() {
+        sweeper.close();
+    }
+
+    // On the sweeper's thread; requests keep adding keys meanwhile, which only overshoots the limit by a few
+    private void evict() {
+        long now = clock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        int excess = buckets.size() - (maxKeys - maxKeys / 4);
+        if (excess <= 0) {
+            return;
+        }
+        // The earliest full-again time is the bucket closest to full; read once, as requests keep moving them
+        record Bucket(String key, AtomicLong bucket, long full) {
+        }
+        List<Bucket> all = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> all.add(new Bucket(key, bucket, bucket.get() - now)));
+        all.sort(Comparator.comparingLong(Bucket::full));
+        for (int i = 0; i < excess && i < all.size(); i++) {
+            buckets.remove(all.get(i).key(), all.get(i).bucket());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.function.BiFunction;
+
+/**
+ * The /api/games, /api/players, /api/matchmaking and /api/rooms endpoints on WebFlux and Netty, used when the
+ * application is started with spring.main.web-application-type=reactive. Requests are handled on
+ * the event loop through the same services as the servlet controllers, so the behaviour is identical,
+ * down to the per-address rate limit.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGameRoutes {
+
+    // Tomcat is on the classpath for servlet mode; without this it would also win in reactive mode
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // The reactive side of AddressRateLimitFilter
+    @Bean
+    public WebFilter addressRateLimitFilter(@Qualifier("addressRateLimiter") RateLimiter rateLimiter,
+                                            GameEventLogger eventLogger, ObjectMapper objectMapper) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!request.getPath().value().startsWith("/api/")) {
+                return chain.filter(exchange);
+            }
+            String address = addressOf(request);
+            long wait = rateLimiter.tryAcquire(address);
+            if (wait == 0) {
+                return chain.filter(exchange);
+            }
+            eventLogger.log(GameEventType.RATE_LIMITED, null, null, address);
+            ResponseEntity<ErrorResponse> tooMany = RateLimiter.tooManyRequests(wait);
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(tooMany.getStatusCode());
+            response.getHeaders().addAll(tooMany.getHeaders());
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(tooMany.getBody());
+            } catch (JsonProcessingException e) {
+                return Mono.error(e);
+            }
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> gameRoutes(GameService gameService, GameBatchProcessor batchProcessor,
+                                                     MatchmakingService matchmakingService, RoomService roomService,
+                                                     GameEventLogger eventLogger, ObjectProvider<GameLog> gameLog) {
+        // With fsync=always a change waits for the disk, which must never happen on the event loop
+        GameLog log = gameLog.getIfAvailable();
+        Scheduler writes = (log != null && log.isBlocking()) ? Schedulers.boundedElastic() : Schedulers.immediate();
+        return RouterFunctions.route()
+                .POST("/api/games/batch", request -> batch(batchProcessor, BatchOperation.CREATE, request, writes))
+                .POST("/api/games/batch/join", request -> batch(batchProcessor, BatchOperation.JOIN, request, writes))
+                .POST("/api/games/batch/move", request -> batch(batchProcessor, BatchOperation.MOVE, request, writes))
+                .POST("/api/games", request -> withBody(request, writes, CreateGameRequest.class, (id, body) -> gameService.createGame(body)))
+                .POST("/api/games/{id}/join", request -> withBody(request, writes, JoinGameRequest.class, gameService::joinGame))
+                .POST("/api/games/{id}/bot", request -> request.bodyToMono(AddBotRequest.class).defaultIfEmpty(new AddBotRequest(null))
+                        .publishOn(writes).flatMap(body -> toServerResponse(gameService.addBot(request.pathVariable("id"), body))))
+                .POST("/api/games/{id}/move", request -> withBody(request, writes, MoveRequest.class, gameService::makeMove))
+                .GET("/api/games/stats", request -> toServerResponse(gameService.getStoreStats()))
+                .GET("/api/games/{id}/events", request -> watchGame(gameService, eventLogger, request.pathVariable("id")))
+                .GET("/api/games/{id}", request -> toServerResponse(gameService.getGameState(request.pathVariable("id"),
+                        request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH))))
+                .GET("/api/players/leaderboard", request -> toServerResponse(gameService.getLeaderboard(limit(request))))
+                .GET("/api/players/{name}/stats", request -> toServerResponse(gameService.getPlayerStats(request.pathVariable("name"))))
+                .POST("/api/matchmaking", request -> withBody(request, writes, MatchRequest.class, (id, body) -> matchmakingService.findMatch(body)))
+                .GET("/api/matchmaking/{ticketId}", request -> toServerResponse(matchmakingService.getTicket(request.pathVariable("ticketId"))))
+                .DELETE("/api/matchmaking/{ticketId}", request -> toServerResponse(matchmakingService.cancelTicket(request.pathVariable("ticketId"))))
+                .POST("/api/rooms", request -> withBody(request, writes, CreateRoomRequest.class, (id, body) -> roomService.createRoom(body)))
+                .POST("/api/rooms/{id}/join", request -> withBody(request, writes, RoomPlayerRequest.class, roomService::joinRoom))
+                .POST("/api/rooms/{id}/start", request -> withBody(request, writes, RoomPlayerRequest.class, roomService::startRoom))
+                .POST("/api/rooms/{id}/move", request -> withBody(request, writes, MoveRequest.class, roomService::makeMove))
+                .GET("/api/rooms/{id}", request -> toServerResponse(roomService.getRoom(request.pathVariable("id"))))
+                .build();
+    }
+
+    // Same stream as the servlet endpoint; a slow client only ever has the latest state waiting for it
+    private static Mono<ServerResponse> watchGame(GameService gameService, GameEventLogger eventLogger, String id) {
+        if (!gameService.hasGame(id)) {
+            eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+            return toServerResponse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse("Game not found", HttpStatus.NOT_FOUND.value())));
+        }
+        Flux<ServerSentEvent<String>> events = Flux.<String>create(sink -> {
+            Runnable unsubscribe = gameService.watchGame(id, new GameUpdateListener() {
+                @Override
+                public void onUpdate(String json) {
+                    sink.next(json);
+                }
+
+                @Override
+                public void onComplete() {
+                    sink.complete();
+                }
+            });
+            if (unsubscribe == null) {
+                sink.complete();  // Evicted since the check above
+            } else {
+                sink.onDispose(unsubscribe::run);
+            }
+        }, FluxSink.OverflowStrategy.LATEST).map(json -> ServerSentEvent.builder(json).event("game").build());
+        return ServerResponse.ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(events, new ParameterizedTypeReference<ServerSentEvent<String>>() {});
+    }
+
+    // The array is decoded item by item and each result is encoded as soon as its item has been applied
+    private static Mono<ServerResponse> batch(GameBatchProcessor batchProcessor, BatchOperation operation,
+                                              ServerRequest request, Scheduler writes) {
+        String address = addressOf(request.exchange().getRequest());
+        Flux<BatchItemResult> results = request.bodyToFlux(BatchItem.class).publishOn(writes)
+                .map(item -> batchProcessor.apply(operation, item, address));
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(results, BatchItemResult.class);
+    }
+
+    private static String addressOf(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        return (remote == null || remote.getAddress() == null) ? "unknown" : remote.getAddress().getHostAddress();
+    }
+
+    // A limit that is not a number is passed on as 0, which GameService rejects
+    private static int limit(ServerRequest request) {
+        try {
+            return request.queryParam("limit").map(Integer::parseInt).orElse(100);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static <T> Mono<ServerResponse> withBody(ServerRequest request, Scheduler writes, Class<T> bodyType,
+                                                     BiFunction<String, T, ResponseEntity<?>> handler) {
+        return withBody(request, writes, ParameterizedTypeReference.forType(bodyType), handler);
+    }
+
+    private static <T> Mono<ServerResponse> withBody(ServerRequest request, Scheduler writes,
+                                                     ParameterizedTypeReference<T> bodyType,
+                                                     BiFunction<String, T, ResponseEntity<?>> handler) {
+        String id = request.pathVariables().get("id");
+        return request.bodyToMono(bodyType)
+                .publishOn(writes)
+                .map(body -> handler.apply(id, body))
+                .flatMap(ReactiveGameRoutes::toServerResponse);
+    }
+
+    private static Mono<ServerResponse> toServerResponse(ResponseEntity<?> entity) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()));
+        return (entity.getBody() == null) ? builder.build() : builder.bodyValue(entity.getBody());
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.rockpaperscissors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A game for any number of players who all throw at once; everyone whose move is beaten by a move
+ * someone else threw is knocked out, and rounds repeat until one player is left.
+ *
+ * Each throw adds one to a histogram of the variant's moves, so when the last player throws, the
+ * round is resolved without comparing players with each other: one pass over the histogram finds
+ * the moves that were thrown, each of them is checked against that set with the outcome table's
+ * bitmaps, and one pass over the seats knocks out the players holding a beaten move. That is
+ * O(players + moves) however large the room. If every move thrown is beaten (all three in the
+ * classic game), or none is, nobody is knocked out and the round is replayed.
+ *
+ * Players are found by name ignoring case, as in games, and listed as they joined.
+ * Seats are plain arrays guarded by {@link #lock}; every method expects the caller to hold it.
+ * A throw keeps the lock for a few field writes, so hundreds of players can throw at once.
+ */
+class Room {
+    private static final int NO_MOVE = -1;
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    private final String id;
+    private final GameVariant variant;
+    private final OutcomeTable outcomes;
+    private final int maxPlayers;
+    private final Map<String, Integer> seats = new HashMap<>();  // By lower-cased name
+    private String[] players = new String[16];
+    private boolean[] eliminated = new boolean[16];
+    private int[] moves = new int[16];  // Index of the move thrown this round, or NO_MOVE
+    private final int[] histogram;  // Players who threw each move this round
+    private int playerCount;
+    private int remaining;
+    private int pending;  // Remaining players who have not thrown this round
+    private int round;
+    private GameStatus status = GameStatus.WAITING;
+    private RoomRound lastRound;
+    private String winner;
+
+    Room(String id, String creator, GameVariant variant, int maxPlayers) {
+        this.id = id;
+        this.variant = variant;
+        this.outcomes = variant.getOutcomes();
+        this.maxPlayers = maxPlayers;
+        this.histogram = new int[variant.size()];
+        join(creator);
+    }
+
+    String getId() {
+        return id;
+    }
+
+    GameVariant getVariant() {
+        return variant;
+    }
+
+    GameStatus getStatus() {
+        return status;
+    }
+
+    int getPlayerCount() {
+        return playerCount;
+    }
+
+    String getWinner() {
+        return winner;
+    }
+
+    boolean isFull() {
+        return playerCount == maxPlayers;
+    }
+
+    // -1 if the player is not in the room
+    int seatOf(String player) {
+        return seats.getOrDefault(player.toLowerCase(Locale.ROOT), -1);
+    }
+
+    boolean isEliminated(int seat) {
+        return eliminated[seat];
+    }
+
+    boolean hasMoved(int seat) {
+        return moves[seat] != NO_MOVE;
+    }
+
+    void join(String player) {
+        if (playerCount == players.length) {
+            int capacity = Math.min(players.length * 2, maxPlayers);
+            players = Arrays.copyOf(players, capacity);
+            eliminated = Arrays.copyOf(eliminated, capacity);
+            moves = Arrays.copyOf(moves, capacity);
+        }
+        seats.put(player.toLowerCase(Locale.ROOT), playerCount);
+        players[playerCount] = player;
+        moves[playerCount] = NO_MOVE;
+        playerCount++;
+    }
+
+    void start() {
+        status = GameStatus.IN_PROGRESS;
+        remaining = playerCount;
+        pending = playerCount;
+        round = 1;
+    }
+
+    /** Records the seat's move; the last throw of a round resolves it. Returns true if it did. */
+    boolean play(int seat, int move) {
+        moves[seat] = move;
+        histogram[move]++;
+        if (--pending > 0) {
+            return false;
+        }
+        resolve();
+        return true;
+    }
+
+    private void resolve() {
+        long[] thrown = outcomes.newMoveSet();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int move = 0; move < histogram.length; move++) {
+            if (histogram[move] > 0) {
+                thrown[move / Long.SIZE] |= 1L << move;
+                counts.put(variant.moveAt(move), histogram[move]);
+            }
+        }
+        boolean[] beaten = new boolean[histogram.length];
+        int beatenMoves = 0;
+        for (int move = 0; move < histogram.length; move++) {
+            if (histogram[move] > 0 && outcomes.isBeatenByAny(move, thrown)) {
+                beaten[move] = true;
+                beatenMoves++;
+            }
+        }
+        boolean standOff = beatenMoves == 0 || beatenMoves == counts.size();
+
+        List<String> knockedOut = new ArrayList<>();
+        String survivor = null;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (eliminated[seat]) {
+                continue;
+            }
+            if (!standOff && beaten[moves[seat]]) {
+                eliminated[seat] = true;
+                knockedOut.add(players[seat]);
+            } else {
+                survivor = players[seat];
+            }
+            moves[seat] = NO_MOVE;
+        }
+        Arrays.fill(histogram, 0);
+
+        lastRound = new RoomRound(round, counts, knockedOut);
+        remaining -= knockedOut.size();
+        if (remaining == 1) {
+            status = GameStatus.FINISHED;
+            winner = survivor;
+        } else {
+            pending = remaining;
+            round++;
+        }
+    }
+
+    RoomState state() {
+        List<String> playing = new ArrayList<>(remaining);
+        int moved = 0;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (!eliminated[seat]) {
+                playing.add(players[seat]);
+                if (moves[seat] != NO_MOVE) {
+                    moved++;
+                }
+            }
+        }
+        String variantName = (variant == GameVariant.CLASSIC) ? null : variant.getName();
+        return new RoomState(id, variantName, status, round, playing, moved, lastRound, winner);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/rooms")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)  // ReactiveGameRoutes serves reactive mode
+public class RoomController {
+
+    private final RoomService roomService;
+
+    public RoomController(RoomService roomService) {
+        this.roomService = roomService;
+    }
+
+    // Open a room for many players
+    @PostMapping
+    public ResponseEntity<?> createRoom(@RequestBody CreateRoomRequest request) {
+        return roomService.createRoom(request);
+    }
+
+    // Take a seat before the room starts
+    @PostMapping("/{id}/join")
+    public ResponseEntity<?> joinRoom(@PathVariable String id, @RequestBody RoomPlayerRequest request) {
+        return roomService.joinRoom(id, request);
+    }
+
+    // Start the first round
+    @PostMapping("/{id}/start")
+    public ResponseEntity<?> startRoom(@PathVariable String id, @RequestBody RoomPlayerRequest request) {
+        return roomService.startRoom(id, request);
+    }
+
+    // Throw a move in the current round
+    @PostMapping("/{id}/move")
+    public ResponseEntity<?> makeMove(@PathVariable String id, @RequestBody MoveRequest request) {
+        return roomService.makeMove(id, request);
+    }
+
+    // Players still in, the current round and the result of the last one
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getRoom(@PathVariable String id) {
+        return roomService.getRoom(id);
+    }
+}
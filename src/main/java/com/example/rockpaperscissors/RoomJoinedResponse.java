@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Returned when a player takes a seat in a room.
+ */
+public record RoomJoinedResponse(String id, String player) {
+}
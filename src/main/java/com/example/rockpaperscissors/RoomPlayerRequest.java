@@ -0,0 +1,7 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Body of POST /api/rooms/{id}/join and /api/rooms/{id}/start.
+ */
+public record RoomPlayerRequest(String name) {
+}
@@ -0,0 +1,33 @@
+package com.example.rockpaperscissors;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of one round in a {@link Room}: how many players threw each move, and who was knocked out.
+ */
+public class RoomRound {
+    private final int round;
+    private final Map<String, Integer> moves;
+    private final List<String> eliminated;
+
+    public RoomRound(int round, Map<String, Integer> moves, List<String> eliminated) {
+        this.round = round;
+        this.moves = moves;
+        this.eliminated = eliminated;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    // Only the moves someone threw
+    public Map<String, Integer> getMoves() {
+        return moves;
+    }
+
+    // Empty when the round was a stand-off
+    public List<String> getEliminated() {
+        return eliminated;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Multi-player rooms behind the /api/rooms endpoints: the creator opens a room, others join until
+ * the creator starts it, and then every remaining player throws once per round until one is left.
+ * See {@link Room} for how a round is resolved.
+ *
+ * Each room has its own lock, held for every check and change on it, so players in different
+ * rooms never contend. Rooms are forgotten the configured time after they were opened, tracked on
+ * a {@link TimerWheel}.
+ */
+public class RoomService implements AutoCloseable {
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final GameEventLogger eventLogger;
+    private final int maxPlayers;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    private final Map<String, Room> rooms = new ConcurrentHashMap<>();
+    private final AtomicLong roomSequence = new AtomicLong();
+    private final TimerWheel wheel;
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final ScheduledExecutorService ticker;
+
+    public RoomService(GameEventLogger eventLogger, int maxPlayers, long ttlMillis) {
+        this(eventLogger, maxPlayers, ttlMillis, 1000, System::currentTimeMillis);
+    }
+
+    RoomService(GameEventLogger eventLogger, int maxPlayers, long ttlMillis, long tickMillis, LongSupplier clock) {
+        if (maxPlayers < 2) {
+            throw new IllegalArgumentException("Rooms must hold at least 2 players");
+        }
+        this.eventLogger = eventLogger;
+        this.maxPlayers = maxPlayers;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.wheel = new TimerWheel(tickMillis, WHEEL_SIZE, clock.getAsLong());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "room-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::expireDue, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Open a room with its creator as the first player
+    public ResponseEntity<?> createRoom(CreateRoomRequest request) {
+        String playerName = request.name();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, null);
+            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        String variantName = request.variant();
+        GameVariant variant = (variantName == null) ? GameVariant.CLASSIC : GameVariant.named(variantName);
+        if (variant == null) {
+            eventLogger.log(GameEventType.UNKNOWN_VARIANT, null, playerName, variantName);
+            return new ResponseEntity<>(new ErrorResponse("Unknown game variant", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+
+        Room room = new Room("room-" + roomSequence.incrementAndGet(), playerName, variant, maxPlayers);
+        rooms.put(room.getId(), room);
+        wheel.schedule(room.getId(), clock.getAsLong() + ttlMillis);
+        eventLogger.log(GameEventType.GAME_CREATED, room.getId(), playerName, null);
+        return ResponseEntity.ok(room.state());
+    }
+
+    public ResponseEntity<?> joinRoom(String id, RoomPlayerRequest request) {
+        String playerName = request.name();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, id);
+            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        return withRoom(id, room -> {
+            if (room.getStatus() != GameStatus.WAITING) {
+                eventLogger.log(GameEventType.GAME_NOT_WAITING, id, playerName, room.getStatus());
+                return new ResponseEntity<>(new ErrorResponse("Room already started or finished", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            if (room.seatOf(playerName) >= 0) {
+                eventLogger.log(GameEventType.INVALID_PLAYER, id, playerName, null);
+                return new ResponseEntity<>(new ErrorResponse("Player already in room", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            if (room.isFull()) {
+                eventLogger.log(GameEventType.ROOM_FULL, id, playerName, maxPlayers);
+                return new ResponseEntity<>(new ErrorResponse("Room is full", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            room.join(playerName);
+            eventLogger.log(GameEventType.PLAYER_JOINED, id, playerName, null);
+            return ResponseEntity.ok(new RoomJoinedResponse(id, playerName));
+        });
+    }
+
+    // Close the room to new players and start the first round; only its creator may do this
+    public ResponseEntity<?> startRoom(String id, RoomPlayerRequest request) {
+        String playerName = request.name();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, id);
+            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        return withRoom(id, room -> {
+            if (room.getStatus() != GameStatus.WAITING) {
+                eventLogger.log(GameEventType.GAME_NOT_WAITING, id, playerName, room.getStatus());
+                return new ResponseEntity<>(new ErrorResponse("Room already started or finished", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            if (room.seatOf(playerName) != 0) {  // The creator has the first seat
+                eventLogger.log(GameEventType.INVALID_PLAYER, id, playerName, null);
+                return new ResponseEntity<>(new ErrorResponse("Only the room's creator can start it", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            if (room.getPlayerCount() < 2) {
+                eventLogger.log(GameEventType.ROOM_TOO_SMALL, id, playerName, null);
+                return new ResponseEntity<>(new ErrorResponse("A room needs at least 2 players to start", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            room.start();
+            return ResponseEntity.ok(room.state());
+        });
+    }
+
+    // Throw a move in the current round
+    public ResponseEntity<?> makeMove(String id, MoveRequest request) {
+        String playerName = request.name();
+        String moveString = request.move();
+        if (playerName == null || playerName.isEmpty()) {
+            eventLogger.log(GameEventType.PLAYER_NAME_MISSING, id);
+            return new ResponseEntity<>(new ErrorResponse("Player name is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        if (moveString == null || moveString.isEmpty()) {
+            eventLogger.log(GameEventType.MOVE_MISSING, id, playerName, null);
+            return new ResponseEntity<>(new ErrorResponse("Move is required", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+        }
+        return withRoom(id, room -> {
+            if (room.getStatus() != GameStatus.IN_PROGRESS) {
+                eventLogger.log(GameEventType.GAME_NOT_IN_PROGRESS, id, playerName, room.getStatus());
+                return new ResponseEntity<>(new ErrorResponse("Room not in progress", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            int seat = room.seatOf(playerName);
+            if (seat < 0 || room.isEliminated(seat)) {
+                eventLogger.log(GameEventType.INVALID_PLAYER, id, playerName, null);
+                return new ResponseEntity<>(new ErrorResponse("Invalid player", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            if (room.hasMoved(seat)) {
+                eventLogger.log(GameEventType.MOVE_ALREADY_MADE, id, playerName, null);
+                return new ResponseEntity<>(new ErrorResponse("Move already made this round", HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+            GameVariant variant = room.getVariant();
+            int move = variant.indexOf(moveString);
+            if (move < 0) {
+                eventLogger.log(GameEventType.INVALID_MOVE, id, playerName, moveString);
+                String message = (variant == GameVariant.CLASSIC) ? "Invalid move. Must be Rock, Paper, or Scissors."
+                        : "Invalid move. Must be one of " + String.join(", ", variant.getMoves()) + ".";
+                return new ResponseEntity<>(new ErrorResponse(message, HttpStatus.BAD_REQUEST.value()), HttpStatus.BAD_REQUEST);
+            }
+
+            eventLogger.log(GameEventType.MOVE_MADE, id, playerName, variant.moveAt(move));
+            if (room.play(seat, move) && room.getStatus() == GameStatus.FINISHED) {
+                eventLogger.log(GameEventType.GAME_FINISHED, id, room.getWinner(), null);
+            }
+            // Not the room's state: building it is O(players), and every player throws
+            return ResponseEntity.ok(new MoveAcceptedResponse(id, playerName));
+        });
+    }
+
+    public ResponseEntity<?> getRoom(String id) {
+        return withRoom(id, room -> ResponseEntity.ok(room.state()));
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    // Forgets rooms opened more than the TTL ago; runs on the ticker thread
+    void expireDue() {
+        wheelLock.lock();
+        try {
+            wheel.advance(clock.getAsLong(), entry -> rooms.remove(entry.id));
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private ResponseEntity<?> withRoom(String id, Function<Room, ResponseEntity<?>> action) {
+        Room room = rooms.get(id);
+        if (room == null) {
+            eventLogger.log(GameEventType.GAME_NOT_FOUND, id);
+            return new ResponseEntity<>(new ErrorResponse("Room not found", HttpStatus.NOT_FOUND.value()), HttpStatus.NOT_FOUND);
+        }
+        room.lock.lock();
+        try {
+            return action.apply(room);
+        } finally {
+            room.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Point-in-time view of a {@link Room}, as returned by the /api/rooms endpoints.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RoomState {
+    private final String id;
+    private final String variant;
+    private final GameStatus status;
+    private final int round;
+    private final List<String> players;
+    private final int moved;
+    private final RoomRound lastRound;
+    private final String winnerName;
+
+    public RoomState(String id, String variant, GameStatus status, int round, List<String> players, int moved,
+                     RoomRound lastRound, String winnerName) {
+        this.id = id;
+        this.variant = variant;
+        this.status = status;
+        this.round = round;
+        this.players = players;
+        this.moved = moved;
+        this.lastRound = lastRound;
+        this.winnerName = winnerName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    // The round being played, starting at 1; 0 before the room starts
+    public int getRound() {
+        return round;
+    }
+
+    // Players still in, in the order they joined
+    public List<String> getPlayers() {
+        return players;
+    }
+
+    // Players who have thrown in the current round
+    public int getMoved() {
+        return moved;
+    }
+
+    public RoomRound getLastRound() {
+        return lastRound;
+    }
+
+    public String getWinnerName() {
+        return winnerName;
+    }
+}
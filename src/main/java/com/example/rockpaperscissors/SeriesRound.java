@@ -0,0 +1,28 @@
+package com.example.rockpaperscissors;
+
+/**
+ * One completed round of a best-of-N series.
+ */
+public class SeriesRound {
+    private final String player1Move;
+    private final String player2Move;
+    private final Outcome outcome;
+
+    public SeriesRound(String player1Move, String player2Move, Outcome outcome) {
+        this.player1Move = player1Move;
+        this.player2Move = player2Move;
+        this.outcome = outcome;
+    }
+
+    public String getPlayer1Move() {
+        return player1Move;
+    }
+
+    public String getPlayer2Move() {
+        return player2Move;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.rockpaperscissors;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays bot strategies against each other headlessly, straight against a {@link GameRule} and
+ * without games, stores or requests, to compare strategies over millions of matches.
+ *
+ * A match is a number of rounds between two bots that each start knowing nothing; every round
+ * each bot answers its opponent's {@link PlayerMoveModel} the same way {@link BotPlayer} does, and
+ * then both models learn the moves thrown. The matches are split in halves on a fork/join pool
+ * until each task holds about 64K rounds. Each task counts into its own locals and the totals are
+ * added up as the halves are joined, so threads share nothing while they play.
+ *
+ * The right half of every split takes {@link SplittableRandom#split()} of its parent's generator,
+ * so each task's random numbers depend only on the seed and where the task sits in the split
+ * tree. The same seed gives the same result whatever the size of the pool.
+ */
+public class SimulationEngine {
+    private static final int ROUNDS_PER_TASK = 1 << 16;
+
+    private final ForkJoinPool pool;
+
+    public SimulationEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public SimulationResult run(GameRule rule, BotStrategy player1, BotStrategy player2,
+                                long matches, int roundsPerMatch, long seed) {
+        if (matches < 0 || roundsPerMatch < 1) {
+            throw new IllegalArgumentException("Matches must not be negative and matches must have at least one round");
+        }
+        OutcomeTable outcomes = OutcomeTable.of(rule);
+        long matchesPerTask = Math.max(1, ROUNDS_PER_TASK / roundsPerMatch);
+        return pool.invoke(new MatchTask(outcomes, player1, player2, roundsPerMatch, matchesPerTask,
+                matches, new SplittableRandom(seed)));
+    }
+
+    private static final class MatchTask extends RecursiveTask<SimulationResult> {
+        private final OutcomeTable outcomes;
+        private final BotStrategy player1;
+        private final BotStrategy player2;
+        private final int roundsPerMatch;
+        private final long matchesPerTask;
+        private final long matches;
+        private final SplittableRandom random;
+
+        MatchTask(OutcomeTable outcomes, BotStrategy player1, BotStrategy player2, int roundsPerMatch,
+                  long matchesPerTask, long matches, SplittableRandom random) {
+            this.outcomes = outcomes;
+            this.player1 = player1;
+            this.player2 = player2;
+            this.roundsPerMatch = roundsPerMatch;
+            this.matchesPerTask = matchesPerTask;
+            this.matches = matches;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (matches <= matchesPerTask) {
+                return play();
+            }
+            long half = matches / 2;
+            MatchTask right = new MatchTask(outcomes, player1, player2, roundsPerMatch, matchesPerTask,
+                    matches - half, random.split());
+            right.fork();
+            SimulationResult left = new MatchTask(outcomes, player1, player2, roundsPerMatch, matchesPerTask,
+                    half, random).compute();
+            return left.plus(right.join());
+        }
+
+        private SimulationResult play() {
+            // Both models are reused for every match in the task
+            PlayerMoveModel model1 = new PlayerMoveModel(outcomes.size());
+            PlayerMoveModel model2 = new PlayerMoveModel(outcomes.size());
+            long player1Rounds = 0;
+            long player2Rounds = 0;
+            long player1Matches = 0;
+            long player2Matches = 0;
+            for (long match = 0; match < matches; match++) {
+                model1.reset();
+                model2.reset();
+                int score = 0;
+                for (int round = 0; round < roundsPerMatch; round++) {
+                    int move1 = BotPlayer.answer(player1.predict(model2), outcomes, random);
+                    int move2 = BotPlayer.answer(player2.predict(model1), outcomes, random);
+                    Outcome outcome = outcomes.resolve(move1, move2);
+                    if (outcome == Outcome.PLAYER1_WINS) {
+                        player1Rounds++;
+                        score++;
+                    } else if (outcome == Outcome.PLAYER2_WINS) {
+                        player2Rounds++;
+                        score--;
+                    }
+                    model1.learn(move1);
+                    model2.learn(move2);
+                }
+                if (score > 0) {
+                    player1Matches++;
+                } else if (score < 0) {
+                    player2Matches++;
+                }
+            }
+            return new SimulationResult(matches, matches * roundsPerMatch, player1Rounds, player2Rounds,
+                    player1Matches, player2Matches);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.rockpaperscissors;
+
+/**
+ * Totals of a {@link SimulationEngine} run, from player 1's side.
+ */
+public class SimulationResult {
+    private final long matches;
+    private final long rounds;
+    private final long player1Rounds;
+    private final long player2Rounds;
+    private final long player1Matches;
+    private final long player2Matches;
+
+    public SimulationResult(long matches, long rounds, long player1Rounds, long player2Rounds,
+                            long player1Matches, long player2Matches) {
+        this.matches = matches;
+        this.rounds = rounds;
+        this.player1Rounds = player1Rounds;
+        this.player2Rounds = player2Rounds;
+        this.player1Matches = player1Matches;
+        this.player2Matches = player2Matches;
+    }
+
+    SimulationResult plus(SimulationResult other) {
+        return new SimulationResult(matches + other.matches, rounds + other.rounds,
+                player1Rounds + other.player1Rounds, player2Rounds + other.player2Rounds,
+                player1Matches + other.player1Matches, player2Matches + other.player2Matches);
+    }
+
+    public long getMatches() {
+        return matches;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    // Rounds won by player 1
+    public long getPlayer1Rounds() {
+        return player1Rounds;
+    }
+
+    public long getPlayer2Rounds() {
+        return player2Rounds;
+    }
+
+    public long getTiedRounds() {
+        return rounds - player1Rounds - player2Rounds;
+    }
+
+    // Matches in which player 1 won more rounds
+    public long getPlayer1Matches() {
+        return player1Matches;
+    }
+
+    public long getPlayer2Matches() {
+        return player2Matches;
+    }
+
+    public long getTiedMatches() {
+        return matches - player1Matches - player2Matches;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationResult{" +
+                "matches=" + matches +
+                ", rounds=" + rounds +
+                ", player1Rounds=" + player1Rounds +
+                ", player2Rounds=" + player2Rounds +
+                ", player1Matches=" + player1Matches +
+                ", player2Matches=" + player2Matches +
+                '}';
+    }
+}
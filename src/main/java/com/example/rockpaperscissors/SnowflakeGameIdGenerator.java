@@ -0,0 +1,103 @@
+package com.example.rockpaperscissors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style {@link GameIdGenerator}.
+ *
+ * Every ID is a 64-bit number made of 41 bits of milliseconds since {@link #EPOCH}, 10 bits of
+ * node ID and a 12-bit sequence within the millisecond. Time and sequence live together in one
+ * {@link AtomicLong}, so generating an ID is a single CAS and IDs are strictly increasing per node,
+ * even if the wall clock steps backwards. When more than 4096 IDs are requested within one
+ * millisecond the sequence simply carries into the time bits, borrowing from the next millisecond
+ * instead of spinning.
+ *
+ * IDs are rendered as "game-" followed by 11 base-62 digits. The digits are fixed width and ordered
+ * like ASCII, so the string form sorts the same way as the number.
+ */
+public class SnowflakeGameIdGenerator implements GameIdGenerator {
+
+    public static final long EPOCH = 1704067200000L;  // 2024-01-01T00:00:00Z
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final String PREFIX = "game-";
+    private static final int ENCODED_LENGTH = 11;
+    private static final byte[] DIGITS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+
+    private final long nodeBits;
+    // Milliseconds since EPOCH shifted left by SEQUENCE_BITS, plus the sequence
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    public SnowflakeGameIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    @Override
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastTimeAndSequence.get();
+            next = (now > previous) ? now : previous + 1;
+        } while (!lastTimeAndSequence.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+    }
+
+    @Override
+    public long createdAt(String id) {
+        long value = decode(id);
+        return (value < 0) ? -1 : (value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    // Renders a non-negative ID as "game-" plus fixed-width base-62
+    public static String encode(long id) {
+        byte[] chars = new byte[PREFIX.length() + ENCODED_LENGTH];
+        for (int i = 0; i < PREFIX.length(); i++) {
+            chars[i] = (byte) PREFIX.charAt(i);
+        }
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = DIGITS[(int) (id % 62)];
+            id /= 62;
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+
+    // The number behind an ID rendered by encode, or -1 if it was not rendered that way
+    public static long decode(String id) {
+        if (id.length() != PREFIX.length() + ENCODED_LENGTH || !id.startsWith(PREFIX)) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = PREFIX.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'A' && c <= 'Z') {
+                digit = c - 'A' + 10;
+            } else if (c >= 'a' && c <= 'z') {
+                digit = c - 'a' + 36;
+            } else {
+                return -1;
+            }
+            value = value * 62 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.rockpaperscissors;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams one game's updates to one servlet client as Server-Sent Events.
+ *
+ * Updates are conflated: only the latest state waits to be sent, and a single writer task at a time
+ * sends it on the executor. A slow client therefore skips intermediate states instead of building up
+ * a backlog or holding up the request that changed the game.
+ */
+class SseGameWatcher implements GameUpdateListener {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final AtomicReference<String> pending = new AtomicReference<>();
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private volatile boolean completed;
+
+    SseGameWatcher(SseEmitter emitter, Executor executor) {
+        this.emitter = emitter;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onUpdate(String json) {
+        pending.set(json);
+        scheduleWrite();
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+        scheduleWrite();
+    }
+
+    private void scheduleWrite() {
+        if (writing.compareAndSet(false, true)) {
+            executor.execute(this::write);
+        }
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                String json = pending.getAndSet(null);
+                if (json != null) {
+                    emitter.send(SseEmitter.event().name("game").data(json, MediaType.APPLICATION_JSON));
+                    continue;
+                }
+                if (completed) {
+                    emitter.complete();
+                    return;
+                }
+                writing.set(false);
+                // Something may have arrived after the last check; only one writer may pick it up
+                if ((pending.get() == null && !completed) || !writing.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter timed out; the emitter callbacks unsubscribe us
+            emitter.completeWithError(e);
+        }
+    }
+}
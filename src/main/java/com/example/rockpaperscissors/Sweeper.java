@@ -0,0 +1,57 @@
+package com.example.rockpaperscissors;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the clean-up of a bounded table on a thread of its own, when the table asks for it.
+ *
+ * The thread that finds the table over its limit is usually handling a request, and may hold a
+ * lock other requests are waiting for, so all it does here is a compare-and-set; the clean-up
+ * itself never runs on it. Runs never overlap, and however many threads ask while one is queued,
+ * it runs once. Until it has run the table may go a little over its limit.
+ */
+class Sweeper implements AutoCloseable {
+
+    private final Runnable sweep;
+    private final Executor executor;
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    Sweeper(String threadName, Runnable sweep) {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        }), sweep);
+    }
+
+    // Tests pass Runnable::run to sweep on the thread that asks
+    Sweeper(Executor executor, Runnable sweep) {
+        this.executor = executor;
+        this.sweep = sweep;
+    }
+
+    void request() {
+        if (!queued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                queued.set(false);  // Anything added from here on may need another run
+                sweep.run();
+            });
+        } catch (RejectedExecutionException e) {
+            // Closed: nothing will be cleaned up any more, and queued stays set so no one asks again
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+}
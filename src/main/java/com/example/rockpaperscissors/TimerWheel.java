@@ -0,0 +1,123 @@
+package com.example.rockpaperscissors;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel of game IDs.
+ *
+ * Deadlines are hashed into a fixed ring of buckets by tick, so scheduling is a lock-free queue
+ * append and each tick only looks at the entries in one bucket. Entries further away than one
+ * revolution stay in their bucket until their round comes up. Entries are never cancelled; the
+ * caller is expected to ignore stale ones when they fire.
+ *
+ * {@link #pollEarliest} returns the entry with the earliest deadline of all. Because a bucket also
+ * holds entries from later revolutions, that is the earliest of the entries due in the current
+ * revolution of the nearest bucket that has any, which costs a scan of that bucket.
+ *
+ * Any number of threads may schedule, but only one thread at a time may call {@link #advance} or
+ * {@link #pollEarliest}.
+ */
+class TimerWheel {
+
+    static final class Entry {
+        final String id;
+        final long deadline;
+
+        Entry(String id, long deadline) {
+            this.id = id;
+            this.deadline = deadline;
+        }
+    }
+
+    // Typed holder, so the ring is a plain array with no generic array creation
+    private static final class Bucket {
+        final ConcurrentLinkedQueue<Entry> entries = new ConcurrentLinkedQueue<>();
+    }
+
+    private final long tickMillis;
+    private final Bucket[] buckets;
+    private final int mask;
+    private volatile long currentTick;  // First tick not yet processed
+
+    TimerWheel(long tickMillis, int wheelSize, long now) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.currentTick = now / tickMillis;
+    }
+
+    void schedule(String id, long deadline) {
+        // Deadlines in the past go into the next bucket to be processed
+        long tick = Math.max(deadline / tickMillis, currentTick);
+        buckets[(int) (tick & mask)].entries.add(new Entry(id, deadline));
+    }
+
+    // Hands every entry whose deadline fell in a tick that has fully passed to the consumer
+    void advance(long now, Consumer<Entry> expired) {
+        long targetTick = now / tickMillis;
+        // Even after a long pause there is no point going round more than once
+        long tick = Math.max(currentTick, targetTick - buckets.length);
+        List<Entry> pending = new ArrayList<>();
+        for (; tick < targetTick; tick++) {
+            ConcurrentLinkedQueue<Entry> bucket = buckets[(int) (tick & mask)].entries;
+            for (Entry entry; (entry = bucket.poll()) != null; ) {
+                pending.add(entry);
+            }
+            for (Entry entry : pending) {
+                if (entry.deadline <= now) {
+                    expired.accept(entry);
+                } else {
+                    bucket.add(entry);  // Due in a later round
+                }
+            }
+            pending.clear();
+            currentTick = tick + 1;
+        }
+    }
+
+    // Removes and returns the entry with the earliest deadline, or null if the wheel is empty
+    Entry pollEarliest() {
+        long tick = currentTick;
+        for (int i = 0; i < buckets.length; i++) {
+            // Entries due by this bucket's tick in the current revolution come before anything in a later bucket
+            Bucket bucket = buckets[(int) ((tick + i) & mask)];
+            Entry earliest = earliest(bucket, tick + i);
+            if (earliest != null) {
+                bucket.entries.remove(earliest);
+                return earliest;
+            }
+        }
+        // Everything left is at least one revolution away
+        Bucket earliestBucket = null;
+        Entry earliest = null;
+        for (Bucket bucket : buckets) {
+            Entry candidate = earliest(bucket, Long.MAX_VALUE);
+            if (candidate != null && (earliest == null || candidate.deadline < earliest.deadline)) {
+                earliestBucket = bucket;
+                earliest = candidate;
+            }
+        }
+        if (earliest != null) {
+            earliestBucket.entries.remove(earliest);
+        }
+        return earliest;
+    }
+
+    // The entry with the smallest deadline among those due by the given tick, or null if there is none
+    private Entry earliest(Bucket bucket, long maxTick) {
+        Entry earliest = null;
+        for (Entry entry : bucket.entries) {
+            if (entry.deadline / tickMillis <= maxTick && (earliest == null || entry.deadline < earliest.deadline)) {
+                earliest = entry;
+            }
+        }
+        return earliest;
+    }
+}
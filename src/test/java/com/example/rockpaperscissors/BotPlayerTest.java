@@ -0,0 +1,88 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BotPlayerTest {
+
+    private static final OutcomeTable OUTCOMES = OutcomeTable.of(new StandardGameRule());
+
+    private final BotPlayer bots = new BotPlayer(
+            List.of(new RandomBotStrategy(), new FrequencyBotStrategy(), new MarkovBotStrategy()));
+
+    @Test
+    void shouldPredictPlayerWhoCyclesThroughMoves() {
+        // Rock, Paper, Scissors, Rock, ... ending on Paper: Scissors comes next, so the bot throws Rock
+        for (int i = 0; i < 11; i++) {
+            bots.learn(GameVariant.CLASSIC, "Alice", i % 3);
+        }
+        Game game = botGame("markov");
+
+        assertEquals(Move.ROCK.ordinal(), bots.chooseMove(game, "Alice", OUTCOMES));
+    }
+
+    @Test
+    void shouldBeatPlayersFavouriteMove() {
+        bots.learn(GameVariant.CLASSIC, "Bob", Move.ROCK.ordinal());
+        bots.learn(GameVariant.CLASSIC, "Bob", Move.SCISSORS.ordinal());
+        bots.learn(GameVariant.CLASSIC, "Bob", Move.SCISSORS.ordinal());
+        Game game = botGame("frequency");
+
+        assertEquals(Move.ROCK.ordinal(), bots.chooseMove(game, "Bob", OUTCOMES));
+    }
+
+    @Test
+    void shouldThrowAnyMoveAgainstUnknownPlayer() {
+        GameVariant rpsls = GameVariant.named("rpsls");
+        Game game = new Game("game-1", "Carol", rpsls);
+        game.join(BotPlayer.NAME, bots.strategyNumber("markov"));
+
+        int move = bots.chooseMove(game, "Carol", rpsls.getOutcomes());
+        assertTrue(move >= 0 && move < 5);
+        assertEquals(0, bots.strategyNumber("psychic"));
+    }
+
+    @Test
+    void shouldDropLeastRecentlyUsedModelsBeyondBudget() {
+        GameVariant cyclic = GameVariant.named("cyclic-127");
+        long perModel = BotPlayer.bytesOf(cyclic, "Stranger999");
+        BotPlayer bounded = new BotPlayer(List.of(new FrequencyBotStrategy()), 10 * perModel, Runnable::run);
+        bounded.learn(cyclic, "Regular", 5);
+
+        for (int i = 0; i < 1000; i++) {
+            bounded.learn(cyclic, "Stranger" + i, 0);
+            bounded.learn(cyclic, "Regular", 5);  // Kept in use, so never the least recently used
+            assertTrue(bounded.modelBytes() <= 10 * perModel);
+        }
+
+        Game game = new Game("game-1", "Regular", cyclic);
+        game.join(BotPlayer.NAME, bounded.strategyNumber("frequency"));
+        assertEquals(cyclic.getOutcomes().counterTo(5), bounded.chooseMove(game, "Regular", cyclic.getOutcomes()));
+    }
+
+    @Test
+    void shouldLeaveEvictionToTheSweeper() {
+        long perModel = BotPlayer.bytesOf(GameVariant.CLASSIC, "Player0");
+        List<Runnable> sweeps = new ArrayList<>();
+        BotPlayer bounded = new BotPlayer(List.of(new FrequencyBotStrategy()), 4 * perModel, sweeps::add);
+        for (int i = 0; i < 8; i++) {
+            bounded.learn(GameVariant.CLASSIC, "Player" + i, 0);
+        }
+
+        // The learning thread only asked for a sweep, once
+        assertEquals(8 * perModel, bounded.modelBytes());
+        assertEquals(1, sweeps.size());
+        sweeps.get(0).run();
+        assertTrue(bounded.modelBytes() <= 3 * perModel);
+    }
+
+    private Game botGame(String strategy) {
+        Game game = new Game("game-1", "Player1");
+        assertTrue(game.join(BotPlayer.NAME, bots.strategyNumber(strategy)));
+        return game;
+    }
+}
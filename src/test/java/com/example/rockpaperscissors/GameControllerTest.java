@@ -4,13 +4,17 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(GameController.class)
+@Import(GameConfiguration.class)
 public class GameControllerTest {
 
     @Autowired
@@ -28,7 +32,7 @@ public class GameControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(playerName))
                 .andExpect(status().isOk())
-                .andExpect(content().string(org.hamcrest.Matchers.containsString("Game created with ID")));
+                .andExpect(jsonPath("$.id").value(org.hamcrest.Matchers.startsWith("game-")));
     }
 
     @Test
@@ -48,15 +52,12 @@ public class GameControllerTest {
     public void shouldJoinGameSuccessfully() throws Exception {
         // First, create a game
         String player1 = "{\"name\": \"Player1\"}";
-        String gameId = mockMvc.perform(post("/api/games")
+        String gameId = idOf(mockMvc.perform(post("/api/games")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(player1))
                 .andReturn()
                 .getResponse()
-                .getContentAsString()
-                .split(":")[1]
-                .trim()
-                .replace("\"", ""); // Extract the actual ID and remove quotes
+                .getContentAsString());
 
         // Now, join the game with Player 2
         String player2 = "{\"name\": \"Player2\"}";
@@ -64,7 +65,8 @@ public class GameControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(player2))
                 .andExpect(status().isOk())
-                .andExpect(content().string(org.hamcrest.Matchers.containsString("Player2 joined the game")));
+                .andExpect(jsonPath("$.id").value(gameId))
+                .andExpect(jsonPath("$.player").value("Player2"));
     }
 
     @Test
@@ -86,16 +88,13 @@ public class GameControllerTest {
         String player1 = "{\"name\": \"Player1\"}";
         String player2 = "{\"name\": \"Player2\"}";
 
-        String gameId = mockMvc.perform(post("/api/games")
+        String gameId = idOf(mockMvc.perform(post("/api/games")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)
                         .content(player1))
                 .andReturn()
                 .getResponse()
-                .getContentAsString()
-                .split(":")[1]
-                .trim()
-                .replace("\"", "");  // Extract the game ID and remove quotes
+                .getContentAsString());
 
         // Player 2 joins
         mockMvc.perform(post("/api/games/" + gameId + "/join")
@@ -111,7 +110,8 @@ public class GameControllerTest {
                         .accept(MediaType.APPLICATION_JSON)
                         .content(movePlayer1))
                 .andExpect(status().isOk())
-                .andExpect(content().string(org.hamcrest.Matchers.containsString("Move accepted for game")));
+                .andExpect(jsonPath("$.id").value(gameId))
+                .andExpect(jsonPath("$.player").value("Player1"));
     }
 
     @Test
@@ -119,16 +119,13 @@ public class GameControllerTest {
         // Create a game
         String player1 = "{\"name\": \"Player1\"}";
 
-        String gameId = mockMvc.perform(post("/api/games")
+        String gameId = idOf(mockMvc.perform(post("/api/games")
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON)  // Ensure Accept header is JSON
                         .content(player1))
                 .andReturn()
                 .getResponse()
-                .getContentAsString()
-                .split(":")[1]
-                .trim()
-                .replace("\"", "");  // Extract the game ID
+                .getContentAsString());
 
         // Join the game as Player 2 to start the game
         String player2 = "{\"name\": \"Player2\"}";
@@ -147,4 +144,287 @@ public class GameControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Invalid move. Must be Rock, Paper, or Scissors."));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldStreamGameStateUntilGameFinishes() throws Exception {
+        String gameId = idOf(mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\"}"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+
+        // Start watching, then play the game to the end
+        MvcResult stream = mockMvc.perform(get("/api/games/" + gameId + "/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(post("/api/games/" + gameId + "/join")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player2\"}"));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player1\", \"move\": \"ROCK\"}"));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player2\", \"move\": \"PAPER\"}"));
+
+        mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("event:game")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("\"status\":\"FINISHED\"")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("\"winnerName\":\"Player2\"")));
+    }
+
+    @Test
+    public void shouldReturnGameNotFoundWhenWatchingNonExistentGame() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/api/games/non-existent-game-id/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(stream))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("event:error")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("\"message\":\"Game not found\"")));
+    }
+
+    @Test
+    public void shouldPlayGamesInBatches() throws Exception {
+        mockMvc.perform(post("/api/games/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Player1\"}, {}, {\"name\": \"Player3\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].body.message").value("Player name is required"))
+                .andExpect(jsonPath("$[2].status").value(200));
+
+        String created = mockMvc.perform(post("/api/games/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\": \"Player1\"}]"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String gameId = objectMapper.readTree(created).get(0).get("body").get("id").asText();
+
+        mockMvc.perform(post("/api/games/batch/join")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": \"" + gameId + "\", \"name\": \"Player2\"}, {\"name\": \"Player2\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].body.message").value("Game ID is required"));
+
+        mockMvc.perform(post("/api/games/batch/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\": \"" + gameId + "\", \"name\": \"Player1\", \"move\": \"ROCK\"},"
+                                + " {\"id\": \"" + gameId + "\", \"name\": \"Player2\", \"move\": \"PAPER\"},"
+                                + " {\"id\": \"non-existent-game-id\", \"name\": \"Player2\", \"move\": \"PAPER\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[2].status").value(404));
+
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(jsonPath("$.winnerName").value("Player2"));
+    }
+
+    @Test
+    public void shouldRejectBatchThatIsNotAnArray() throws Exception {
+        mockMvc.perform(post("/api/games/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Request body must be a JSON array"));
+    }
+
+    @Test
+    public void shouldReportRunningScoreOfSeries() throws Exception {
+        String gameId = idOf(mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"bestOf\": 3}"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        mockMvc.perform(post("/api/games/" + gameId + "/join")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player2\"}"));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player1\", \"move\": \"ROCK\"}"));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player2\", \"move\": \"PAPER\"}"));
+
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.bestOf").value(3))
+                .andExpect(jsonPath("$.player1Score").value(0))
+                .andExpect(jsonPath("$.player2Score").value(1))
+                .andExpect(jsonPath("$.rounds[0].outcome").value("PLAYER2_WINS"));
+    }
+
+    @Test
+    public void shouldRejectEvenBestOf() throws Exception {
+        mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"bestOf\": 4}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Best of must be an odd number between 1 and 255"));
+    }
+
+    @Test
+    public void shouldPlayRockPaperScissorsLizardSpock() throws Exception {
+        String gameId = idOf(mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"variant\": \"rpsls\"}"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        mockMvc.perform(post("/api/games/" + gameId + "/join")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player2\"}"));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"move\": \"SPOCK\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\": \"Player2\", \"move\": \"lizard\"}"));
+
+        // Lizard poisons Spock
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.variant").value("rpsls"))
+                .andExpect(jsonPath("$.player1Move").value("SPOCK"))
+                .andExpect(jsonPath("$.player2Move").value("LIZARD"))
+                .andExpect(jsonPath("$.winnerName").value("Player2"));
+    }
+
+    @Test
+    public void shouldRejectUnknownVariant() throws Exception {
+        mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"variant\": \"cyclic-4\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown game variant"));
+    }
+
+    @Test
+    public void shouldPlayAgainstBot() throws Exception {
+        String gameId = idOf(mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\"}"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        mockMvc.perform(post("/api/games/" + gameId + "/bot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"strategy\": \"frequency\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"move\": \"ROCK\"}"))
+                .andExpect(status().isOk());
+
+        // The bot has answered within the same request
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.player2").value("Bot"))
+                .andExpect(jsonPath("$.player2Move").exists())
+                .andExpect(jsonPath("$.status").value("FINISHED"));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Bot\", \"move\": \"ROCK\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldServeFinishedGameWithETag() throws Exception {
+        String gameId = idOf(mockMvc.perform(post("/api/games")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\"}"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString());
+        mockMvc.perform(post("/api/games/" + gameId + "/bot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(post("/api/games/" + gameId + "/move")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"move\": \"ROCK\"}"))
+                .andExpect(status().isOk());
+
+        // The same bytes every time once the game is finished, and none at all for a client that has them
+        MvcResult first = mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("FINISHED"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/games/" + gameId))
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(first.getResponse().getContentAsByteArray()));
+        mockMvc.perform(get("/api/games/" + gameId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void shouldLimitRequestsPerPlayer() throws Exception {
+        // The default burst is 40 requests, refilled at 20 a second; other tests' players have their own buckets
+        int accepted = 0;
+        MvcResult result;
+        do {
+            result = mockMvc.perform(post("/api/games")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\": \"Flooder\"}"))
+                    .andReturn();
+        } while (result.getResponse().getStatus() == 200 && ++accepted < 1000);
+
+        org.junit.jupiter.api.Assertions.assertTrue(accepted >= 40 && accepted < 1000);
+        status().isTooManyRequests().match(result);
+        header().exists(HttpHeaders.RETRY_AFTER).match(result);
+        jsonPath("$.message").value("Too many requests").match(result);
+        jsonPath("$.status").value(429).match(result);
+    }
+
+    @Test
+    public void shouldChargeEachBatchItemToTheClientAddress() throws Exception {
+        // The default address burst is 400; distinct names keep the per-player limit out of the way
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            batch.append(i == 0 ? "" : ",").append("{\"name\": \"Batcher").append(i).append("\"}");
+        }
+        mockMvc.perform(post("/api/games/batch")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.25");  // Its own bucket, so other tests are not limited
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch.append("]").toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[999].status").value(429))
+                .andExpect(jsonPath("$[999].body.message").value("Too many requests"));
+    }
+
+    @Test
+    public void shouldRejectUnknownBotStrategy() throws Exception {
+        mockMvc.perform(post("/api/games/game-1/bot")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"strategy\": \"psychic\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown bot strategy. Must be one of random, frequency, markov."));
+    }
+
+    private String idOf(String json) throws Exception {
+        return objectMapper.readTree(json).get("id").asText();
+    }
+}
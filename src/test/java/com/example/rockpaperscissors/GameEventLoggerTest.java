@@ -0,0 +1,86 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventLoggerTest {
+
+    private final List<GameEvent> written = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldWriteEventsInOrderOnBackgroundThread() throws Exception {
+        GameEventLogger logger = new GameEventLogger(Level.INFO, 1.0, 64, written::add);
+
+        logger.log(GameEventType.GAME_CREATED, "game-1", "Player1", null);
+        logger.log(GameEventType.PLAYER_JOINED, "game-1", "Player2", null);
+        logger.log(GameEventType.GAME_FINISHED, "game-1", "Player2", null);
+        logger.close();
+
+        assertEquals(3, written.size());
+        assertEquals(GameEventType.GAME_CREATED, written.get(0).getType());
+        assertEquals(GameEventType.GAME_FINISHED, written.get(2).getType());
+        assertTrue(written.get(1).format().startsWith("event=PLAYER_JOINED time="));
+        assertTrue(written.get(1).format().endsWith(" gameId=game-1 player=\"Player2\""));
+    }
+
+    @Test
+    void shouldSkipEventsBelowConfiguredLevel() throws Exception {
+        GameEventLogger logger = new GameEventLogger(Level.WARN, 1.0, 64, written::add);
+
+        assertFalse(logger.isEnabled(GameEventType.GAME_CREATED));
+        logger.log(GameEventType.GAME_CREATED, "game-1", "Player1", null);
+        logger.log(GameEventType.GAME_NOT_FOUND, "game-2");
+        logger.close();
+
+        assertEquals(1, written.size());
+        assertEquals(GameEventType.GAME_NOT_FOUND, written.get(0).getType());
+    }
+
+    @Test
+    void shouldWriteNothingWhenSwitchedOff() throws Exception {
+        GameEventLogger logger = new GameEventLogger(null, 1.0, 64, written::add);
+
+        logger.log(GameEventType.GAME_NOT_FOUND, "game-1");
+        logger.close();
+
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void shouldSampleInfoEventsButKeepWarnings() throws Exception {
+        GameEventLogger logger = new GameEventLogger(Level.DEBUG, 0.0, 64, written::add);
+
+        logger.log(GameEventType.MOVE_MADE, "game-1", "Player1", Move.ROCK);
+        logger.log(GameEventType.INVALID_MOVE, "game-1", "Player1", "LIZARD");
+        logger.close();
+
+        assertEquals(1, written.size());
+        assertEquals(GameEventType.INVALID_MOVE, written.get(0).getType());
+    }
+
+    @Test
+    void shouldCountDroppedEventsWhenQueueIsFull() throws Exception {
+        // A sink that blocks until released keeps the queue from draining
+        Object gate = new Object();
+        GameEventLogger logger = new GameEventLogger(Level.INFO, 1.0, 1, event -> {
+            synchronized (gate) {
+                written.add(event);
+            }
+        });
+
+        synchronized (gate) {
+            for (int i = 0; i < 10; i++) {
+                logger.log(GameEventType.GAME_CREATED, "game-" + i);
+            }
+        }
+        logger.close();
+
+        assertTrue(logger.getDroppedEvents() > 0);
+        assertEquals(10, written.size() + logger.getDroppedEvents());
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLogTest {
+
+    private static final OutcomeTable OUTCOMES = OutcomeTable.of(new StandardGameRule());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayAppendedRecordsInOrder() {
+        Game game = new Game("game-1", "Player1");
+        try (GameLog log = open(GameLog.FsyncPolicy.ALWAYS, 1 << 20)) {
+            log.replay(record -> fail("log should start empty"));
+            log.awaitDurable(log.append(GameLog.RecordType.CREATED, game));
+            game.join("Player2");
+            log.append(GameLog.RecordType.JOINED, game);
+            game.play(true, Move.ROCK, OUTCOMES);
+            game.play(false, Move.PAPER, OUTCOMES);
+            log.awaitDurable(log.append(GameLog.RecordType.FINISHED, game));
+            log.appendRemoved("game-1");
+        }
+
+        List<GameLog.Record> records = replay(open(GameLog.FsyncPolicy.NEVER, 1 << 20));
+
+        assertEquals(4, records.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L), records.stream().map(record -> record.lsn).toList());
+        assertEquals(GameLog.RecordType.CREATED, records.get(0).type);
+        assertNull(records.get(0).player2);
+        GameLog.Record finished = records.get(2);
+        assertEquals(GameLog.RecordType.FINISHED, finished.type);
+        assertEquals("Player2", finished.player2);
+        assertEquals(game.getState(), finished.state);
+        assertEquals(GameLog.RecordType.REMOVED, records.get(3).type);
+        assertEquals("game-1", records.get(3).id);
+    }
+
+    @Test
+    void shouldRollSegmentsAndContinueSequenceAfterRestart() throws Exception {
+        try (GameLog log = open(GameLog.FsyncPolicy.INTERVAL, 128)) {
+            log.replay(record -> { });
+            for (int i = 0; i < 10; i++) {
+                log.append(GameLog.RecordType.CREATED, new Game("game-" + i, "Player1"));
+            }
+            assertTrue(log.segments().size() > 1);
+        }
+
+        try (GameLog log = open(GameLog.FsyncPolicy.INTERVAL, 128)) {
+            assertEquals(10, replay(log).size());
+            assertEquals(11, log.append(GameLog.RecordType.CREATED, new Game("game-10", "Player1")));
+        }
+    }
+
+    @Test
+    void shouldRecoverFromCrashThatLeftEmptySegment() throws Exception {
+        try (GameLog log = open(GameLog.FsyncPolicy.NEVER, 1 << 20)) {
+            log.replay(record -> { });
+            log.append(GameLog.RecordType.CREATED, new Game("game-1", "Player1"));
+            log.append(GameLog.RecordType.CREATED, new Game("game-2", "Player1"));
+        }
+        // As if the process died after creating the next segment but before writing to it
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve(String.format("%020d%s", 3, GameLog.SEGMENT_SUFFIX)).toFile(), "rw")) {
+            file.setLength(1 << 20);
+        }
+
+        try (GameLog log = open(GameLog.FsyncPolicy.NEVER, 1 << 20)) {
+            assertEquals(2, replay(log).size());
+            assertEquals(3, log.append(GameLog.RecordType.CREATED, new Game("game-3", "Player1")));
+        }
+        assertEquals(3, replay(open(GameLog.FsyncPolicy.NEVER, 1 << 20)).size());
+    }
+
+    @Test
+    void shouldFailWritersWaitingForDurabilityWhenSyncFails() {
+        GameLog log = new GameLog(directory, 1 << 20, GameLog.FsyncPolicy.ALWAYS, 5) {
+            @Override
+            void force(MappedByteBuffer segment) {
+                throw new UncheckedIOException(new IOException("Disk failed"));
+            }
+        };
+        log.replay(record -> { });
+        long lsn = log.append(GameLog.RecordType.CREATED, new Game("game-1", "Player1"));
+
+        IllegalStateException first = assertThrows(IllegalStateException.class, () -> log.awaitDurable(lsn));
+        assertInstanceOf(UncheckedIOException.class, first.getCause());
+        // Later writers fail straight away instead of waiting for a sync thread that is gone
+        long next = log.append(GameLog.RecordType.CREATED, new Game("game-2", "Player1"));
+        assertThrows(IllegalStateException.class, () -> log.awaitDurable(next));
+    }
+
+    @Test
+    void shouldStopReplayingSegmentAtTornRecord() throws Exception {
+        Path segment;
+        try (GameLog log = open(GameLog.FsyncPolicy.NEVER, 1 << 20)) {
+            log.replay(record -> { });
+            log.append(GameLog.RecordType.CREATED, new Game("game-1", "Player1"));
+            log.append(GameLog.RecordType.CREATED, new Game("game-2", "Player1"));
+            segment = log.segments().get(0);
+        }
+        // Corrupt the last byte of the second record, as if the write was torn
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long end = 0;
+            for (int i = 0; i < 2; i++) {
+                file.seek(end);
+                end += 8 + file.readInt();
+            }
+            file.seek(end - 1);
+            file.writeByte(0x7F);
+        }
+
+        List<GameLog.Record> records = replay(open(GameLog.FsyncPolicy.NEVER, 1 << 20));
+
+        assertEquals(1, records.size());
+        assertEquals("game-1", records.get(0).id);
+    }
+
+    @Test
+    void shouldLoadSnapshotPlusTailAndDeleteCoveredSegments() throws Exception {
+        Map<String, Game> games = new LinkedHashMap<>();
+        GameLog log = open(GameLog.FsyncPolicy.NEVER, 128);  // Never closed, as if the process crashed
+        log.replay(record -> { });
+        log.snapshotFrom(games.values());
+        for (int i = 0; i < 10; i++) {
+            Game game = new Game("game-" + i, "Player1");
+            games.put(game.getId(), game);
+            log.append(GameLog.RecordType.CREATED, game);
+        }
+        log.snapshot();
+        assertEquals(1, log.segments().size());
+
+        Game joined = games.get("game-0");
+        joined.join("Player2");
+        log.append(GameLog.RecordType.JOINED, joined);
+        games.remove("game-1");
+        log.appendRemoved("game-1");
+
+        Map<String, GameLog.Record> recovered = new HashMap<>();
+        try (GameLog reopened = open(GameLog.FsyncPolicy.NEVER, 128)) {
+            reopened.replay(record -> {
+                if (record.type == GameLog.RecordType.REMOVED) {
+                    recovered.remove(record.id);
+                } else {
+                    recovered.put(record.id, record);
+                }
+            });
+            assertEquals(13, reopened.append(GameLog.RecordType.CREATED, new Game("game-10", "Player1")));
+        }
+
+        assertEquals(9, recovered.size());
+        assertNull(recovered.get("game-1"));
+        assertEquals("Player2", recovered.get("game-0").player2);
+        assertEquals(joined.getState(), recovered.get("game-0").state);
+    }
+
+    private GameLog open(GameLog.FsyncPolicy policy, int segmentSize) {
+        return new GameLog(directory, segmentSize, policy, 5);
+    }
+
+    private static List<GameLog.Record> replay(GameLog log) {
+        List<GameLog.Record> records = new ArrayList<>();
+        log.replay(records::add);
+        return records;
+    }
+}
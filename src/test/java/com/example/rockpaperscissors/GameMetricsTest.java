@@ -0,0 +1,61 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemoryGameStore store = new InMemoryGameStore();
+    private final GameEventLogger eventLogger = new GameEventLogger(null, 1.0, 16);
+    private final GameService gameService = new GameService(store, new StandardGameRule(),
+            new SnowflakeGameIdGenerator(0), eventLogger, new GameUpdatePublisher(new ObjectMapper().writer()),
+            new PlayerStatistics(10), new BotPlayer(List.of(new RandomBotStrategy())),
+            new GameMetrics(registry, store, eventLogger), new GameResponseCache(new ObjectMapper().writer()),
+            new RateLimiter(0, 1, 1));
+
+    @AfterEach
+    void closeStore() {
+        store.close();
+    }
+
+    @Test
+    void shouldTimeRequestsAndCountGamesByStatus() {
+        String waiting = gameId(gameService.createGame(new CreateGameRequest("Alice")).getBody());
+        String finished = gameId(gameService.createGame(new CreateGameRequest("Bob")).getBody());
+        gameService.joinGame(finished, new JoinGameRequest("Carol"));
+        gameService.makeMove(finished, new MoveRequest("Bob", "ROCK"));
+        gameService.makeMove(finished, new MoveRequest("Carol", "PAPER"));
+        gameService.getGameState(waiting);
+
+        assertEquals(2, registry.get("game.requests").tag("operation", "create").timer().count());
+        assertEquals(1, registry.get("game.requests").tag("operation", "join").timer().count());
+        assertEquals(2, registry.get("game.requests").tag("operation", "move").timer().count());
+        assertEquals(1, registry.get("game.requests").tag("operation", "get").timer().count());
+        assertEquals(1, registry.get("game.duration").timer().count());
+        assertEquals(1, registry.get("game.store.games").tag("status", "waiting").gauge().value());
+        assertEquals(0, registry.get("game.store.games").tag("status", "in_progress").gauge().value());
+        assertEquals(1, registry.get("game.store.games").tag("status", "finished").gauge().value());
+    }
+
+    @Test
+    void shouldCountRejectionsByReason() {
+        gameService.createGame(new CreateGameRequest(null));
+        gameService.getGameState("non-existent-game-id");
+        gameService.getGameState("non-existent-game-id");
+
+        assertEquals(1, registry.get("game.rejections").tag("reason", "player_name_missing").functionCounter().count());
+        assertEquals(2, registry.get("game.rejections").tag("reason", "game_not_found").functionCounter().count());
+        assertEquals(0, registry.get("game.rejections").tag("reason", "invalid_move").functionCounter().count());
+    }
+
+    private static String gameId(Object body) {
+        return ((GameCreatedResponse) body).id();
+    }
+}
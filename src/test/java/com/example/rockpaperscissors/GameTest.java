@@ -1,9 +1,184 @@
 package com.example.rockpaperscissors;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameTest {
 
-}
\ No newline at end of file
+    private final OutcomeTable rule = OutcomeTable.of(new StandardGameRule());
+
+    @Test
+    void shouldStartWaitingWithoutMovesOrWinner() {
+        Game game = new Game("game-1", "Player1");
+
+        assertEquals(GameStatus.WAITING, game.getStatus());
+        assertNull(game.getPlayer2());
+        assertNull(game.getPlayer1Move());
+        assertNull(game.getPlayer2Move());
+        assertNull(game.getWinnerName());
+    }
+
+    @Test
+    void shouldOnlyBeJoinedOnce() {
+        Game game = new Game("game-1", "Player1");
+
+        assertTrue(game.join("Player2"));
+        assertFalse(game.join("Player3"));
+        assertEquals("Player2", game.getPlayer2());
+        assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+    }
+
+    @Test
+    void shouldOnlyShowTheJoinerWhoWonARace() throws Exception {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            Game game = new Game("game-1", "Player1");
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            Set<String> winners = ConcurrentHashMap.newKeySet();
+            for (int i = 0; i < 4; i++) {
+                String name = "Player" + (i + 2);
+                Thread thread = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    if (game.join(name)) {
+                        winners.add(name);
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(1, winners.size());
+            assertEquals(winners.iterator().next(), game.getPlayer2());
+        }
+    }
+
+    @Test
+    void shouldNotAcceptMovesBeforeJoinOrAfterFinish() {
+        Game game = new Game("game-1", "Player1");
+        assertFalse(game.play(true, Move.ROCK, rule));
+
+        game.join("Player2");
+        assertTrue(game.play(true, Move.ROCK, rule));
+        assertTrue(game.play(false, Move.SCISSORS, rule));
+        assertFalse(game.play(false, Move.PAPER, rule));
+        assertEquals("SCISSORS", game.getPlayer2Move());
+    }
+
+    @Test
+    void shouldLetPlayerChangeMoveUntilOpponentMoves() {
+        Game game = new Game("game-1", "Player1");
+        game.join("Player2");
+
+        game.play(true, Move.ROCK, rule);
+        game.play(true, Move.SCISSORS, rule);
+        assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+
+        game.play(false, Move.ROCK, rule);
+        assertEquals(GameStatus.FINISHED, game.getStatus());
+        assertEquals("SCISSORS", game.getPlayer1Move());
+        assertEquals("Player2", game.getWinnerName());
+    }
+
+    @Test
+    void shouldDeriveWinnerNameFromOutcome() {
+        Game win = finishedGame(Move.PAPER, Move.ROCK);
+        Game tie = finishedGame(Move.PAPER, Move.PAPER);
+
+        assertEquals("Player1", win.getWinnerName());
+        assertEquals("TIE", tie.getWinnerName());
+    }
+
+    @Test
+    void shouldSerializeToSameJsonAsBefore() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertEquals("{\"id\":\"game-1\",\"player1\":\"Player1\",\"status\":\"WAITING\"}",
+                objectMapper.writeValueAsString(new Game("game-1", "Player1")));
+        assertEquals("{\"id\":\"game-1\",\"player1\":\"Player1\",\"player2\":\"Player2\",\"player1Move\":\"ROCK\","
+                        + "\"player2Move\":\"PAPER\",\"status\":\"FINISHED\",\"winnerName\":\"Player2\"}",
+                objectMapper.writeValueAsString(finishedGame(Move.ROCK, Move.PAPER)));
+    }
+
+    private Game finishedGame(Move move1, Move move2) {
+        Game game = new Game("game-1", "Player1");
+        game.join("Player2");
+        game.play(true, move1, rule);
+        game.play(false, move2, rule);
+        return game;
+    }
+
+    @Test
+    void shouldPlayBestOfThreeSeriesReplayingTies() {
+        Game game = new Game("game-1", "Player1", 3);
+        game.join("Player2");
+        assertEquals(0, game.getPlayer1Score());
+        assertEquals(List.of(), game.getRounds());
+
+        playRound(game, Move.ROCK, Move.SCISSORS);  // Player 1
+        assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+        assertNull(game.getPlayer1Move());  // Cleared for the next round
+        playRound(game, Move.PAPER, Move.PAPER);     // Tie, does not count
+        playRound(game, Move.ROCK, Move.PAPER);      // Player 2
+        assertEquals(1, game.getPlayer1Score());
+        assertEquals(1, game.getPlayer2Score());
+        assertNull(game.getWinnerName());
+        playRound(game, Move.SCISSORS, Move.PAPER);  // Player 1 takes the series
+
+        assertEquals(GameStatus.FINISHED, game.getStatus());
+        assertEquals("Player1", game.getWinnerName());
+        assertEquals(2, game.getPlayer1Score());
+        assertEquals("SCISSORS", game.getPlayer1Move());
+        List<SeriesRound> rounds = game.getRounds();
+        assertEquals(4, rounds.size());
+        assertEquals(Outcome.TIE, rounds.get(1).getOutcome());
+        assertEquals("PAPER", rounds.get(2).getPlayer2Move());
+        assertEquals(Outcome.PLAYER2_WINS, rounds.get(2).getOutcome());
+        assertFalse(game.play(true, Move.ROCK, rule));
+    }
+
+    @Test
+    void shouldKeepHistoryBeyondInitialCapacityWhenTiesRepeat() {
+        Game game = new Game("game-1", "Player1", 3);
+        game.join("Player2");
+        for (int i = 0; i < 20; i++) {
+            playRound(game, Move.ROCK, Move.ROCK);
+        }
+        playRound(game, Move.PAPER, Move.ROCK);
+        playRound(game, Move.PAPER, Move.ROCK);
+
+        assertEquals("Player1", game.getWinnerName());
+        assertEquals(22, game.getRounds().size());
+        assertEquals("PAPER", game.getRounds().get(21).getPlayer1Move());
+    }
+
+    @Test
+    void shouldLeaveSeriesFieldsOutOfSingleGame() {
+        Game game = new Game("game-1", "Player1", 1);
+
+        assertNull(game.getBestOf());
+        assertNull(game.getPlayer1Score());
+        assertNull(game.getRounds());
+        assertThrows(IllegalArgumentException.class, () -> new Game("game-2", "Player1", 4));
+    }
+
+    private void playRound(Game game, Move move1, Move move2) {
+        assertTrue(game.play(true, move1, rule));
+        assertTrue(game.play(false, move2, rule));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameUpdatePublisherTest {
+
+    private final GameUpdatePublisher publisher = new GameUpdatePublisher(new ObjectMapper().writer());
+    private final OutcomeTable outcomes = OutcomeTable.of(new StandardGameRule());
+
+    @Test
+    void shouldSendCurrentStateOnSubscribeAndEveryChangeAfter() {
+        Game game = new Game("game-1", "Player1");
+        RecordingListener listener = new RecordingListener();
+
+        publisher.subscribe(game, listener);
+        game.join("Player2");
+        publisher.publish(game);
+
+        assertEquals(2, listener.updates.size());
+        assertTrue(listener.updates.get(0).contains("\"status\":\"WAITING\""));
+        assertTrue(listener.updates.get(1).contains("\"status\":\"IN_PROGRESS\""));
+        assertFalse(listener.completed);
+    }
+
+    @Test
+    void shouldShareOneSerializedStateAcrossAllWatchers() {
+        Game game = new Game("game-1", "Player1");
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        publisher.subscribe(game, first);
+        publisher.subscribe(game, second);
+
+        game.join("Player2");
+        publisher.publish(game);
+
+        assertSame(first.updates.get(1), second.updates.get(1));
+    }
+
+    @Test
+    void shouldCompleteAndForgetWatchersWhenGameFinishes() {
+        Game game = new Game("game-1", "Player1");
+        game.join("Player2");
+        RecordingListener listener = new RecordingListener();
+        publisher.subscribe(game, listener);
+
+        game.play(true, Move.ROCK, outcomes);
+        game.play(false, Move.SCISSORS, outcomes);
+        publisher.publish(game);
+
+        assertTrue(listener.completed);
+        assertTrue(listener.updates.get(1).contains("\"winnerName\":\"Player1\""));
+        assertEquals(0, publisher.watchedGames());
+    }
+
+    @Test
+    void shouldStopSendingAfterUnsubscribe() {
+        Game game = new Game("game-1", "Player1");
+        RecordingListener listener = new RecordingListener();
+
+        Runnable unsubscribe = publisher.subscribe(game, listener);
+        unsubscribe.run();
+        game.join("Player2");
+        publisher.publish(game);
+
+        assertEquals(1, listener.updates.size());
+        assertEquals(0, publisher.watchedGames());
+    }
+
+    private static class RecordingListener implements GameUpdateListener {
+        final List<String> updates = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public void onUpdate(String json) {
+            updates.add(json);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryGameStoreTest {
+
+    private static final int GAMES = 500;
+    private static final int JOINERS_PER_GAME = 8;
+    private static final int THREADS = 16;
+    private static final OutcomeTable OUTCOMES = OutcomeTable.of(new StandardGameRule());
+
+    @Test
+    void shouldReturnNullForUnknownGame() {
+        GameStore store = new InMemoryGameStore();
+
+        assertNull(store.get("missing"));
+        assertNull(store.update("missing", game -> game));
+    }
+
+    @Test
+    void shouldAllowExactlyOneJoinerPerGameUnderContention() throws Exception {
+        GameStore store = new InMemoryGameStore();
+        GameService service = newService(store);
+        createGames(store);
+
+        AtomicInteger successfulJoins = new AtomicInteger();
+        runConcurrently(GAMES * JOINERS_PER_GAME, task -> {
+            String gameId = "game-" + (task % GAMES);
+            String player = "Joiner" + (task / GAMES);
+            ResponseEntity<?> response = service.joinGame(gameId, new JoinGameRequest(player));
+            if (response.getStatusCode().is2xxSuccessful()) {
+                successfulJoins.incrementAndGet();
+            }
+        });
+
+        assertEquals(GAMES, successfulJoins.get());
+        for (int i = 0; i < GAMES; i++) {
+            Game game = store.get("game-" + i);
+            assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+            assertNotNull(game.getPlayer2());
+        }
+    }
+
+    @Test
+    void shouldResolveEveryGameExactlyOnceWhenBothPlayersMoveConcurrently() throws Exception {
+        GameStore store = new InMemoryGameStore();
+        GameService service = newService(store);
+        createGames(store);
+        for (int i = 0; i < GAMES; i++) {
+            service.joinGame("game-" + i, new JoinGameRequest("Player2"));
+        }
+
+        // Each game gets one move from each player, racing against each other
+        runConcurrently(GAMES * 2, task -> {
+            String gameId = "game-" + (task / 2);
+            MoveRequest move = (task % 2 == 0)
+                    ? new MoveRequest("Player1", "ROCK")
+                    : new MoveRequest("Player2", "PAPER");
+            assertTrue(service.makeMove(gameId, move).getStatusCode().is2xxSuccessful());
+        });
+
+        for (int i = 0; i < GAMES; i++) {
+            Game game = store.get("game-" + i);
+            assertEquals(GameStatus.FINISHED, game.getStatus());
+            assertEquals("ROCK", game.getPlayer1Move());
+            assertEquals("PAPER", game.getPlayer2Move());
+            assertEquals("Player2", game.getWinnerName());
+        }
+    }
+
+    @Test
+    void shouldExpireGamesByStatusTtl() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        List<Game> archived = new CopyOnWriteArrayList<>();
+        GameEvictionPolicy policy = new GameEvictionPolicy(
+                Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ofSeconds(5), 100);
+        try (InMemoryGameStore store = new InMemoryGameStore(16, policy, archived::add, 1000, clock::get)) {
+            store.save(newGame("waiting"));
+            store.save(newGame("playing"));
+            store.update("playing", game -> game.join("Player2"));
+
+            clock.addAndGet(12_000);
+            store.expireDue();
+
+            assertNull(store.get("waiting"));
+            assertNotNull(store.get("playing"));
+            assertEquals(1, archived.size());
+            assertEquals("waiting", archived.get(0).getId());
+
+            // Finishing restarts the clock with the shorter FINISHED TTL
+            store.update("playing", game -> game.play(true, Move.ROCK, OUTCOMES)
+                    && game.play(false, Move.ROCK, OUTCOMES));
+            clock.addAndGet(7_000);
+            store.expireDue();
+
+            assertNull(store.get("playing"));
+            GameStoreStats stats = store.stats();
+            assertEquals(0, stats.getSize());
+            assertEquals(2, stats.getExpired());
+            assertEquals(0, stats.getEvicted());
+            assertEquals(2, stats.getMisses());
+        }
+    }
+
+    @Test
+    void shouldEvictGameClosestToExpiryWhenFull() {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        List<Game> archived = new CopyOnWriteArrayList<>();
+        GameEvictionPolicy policy = new GameEvictionPolicy(
+                Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofMinutes(1), 3);
+        try (InMemoryGameStore store = new InMemoryGameStore(16, policy, archived::add, 1000, clock::get)) {
+            store.save(newGame("a"));
+            store.save(newGame("b"));
+            Game finished = newGame("c");
+            finished.join("Player2");
+            finished.play(true, Move.ROCK, OUTCOMES);
+            finished.play(false, Move.PAPER, OUTCOMES);
+            store.save(finished);
+
+            store.save(newGame("d"));
+
+            assertEquals(3, store.size());
+            assertNull(store.get("c"));
+            assertEquals(1, store.stats().getEvicted());
+            assertEquals("c", archived.get(0).getId());
+        }
+    }
+
+    @Test
+    void shouldRecoverGamesFromLogAfterRestart(@TempDir Path directory) {
+        GameEvictionPolicy policy = new GameEvictionPolicy(
+                Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofMinutes(10), 2);
+        try (InMemoryGameStore store = new InMemoryGameStore(policy, GameArchiver.NONE, 1000,
+                new GameLog(directory, 1 << 20, GameLog.FsyncPolicy.ALWAYS, 10))) {
+            GameService service = newService(store);
+            store.save(newGame("evicted"));
+            store.save(newGame("finished"));
+            service.joinGame("finished", new JoinGameRequest("Player2"));
+            service.makeMove("finished", new MoveRequest("Player1", "ROCK"));
+            service.makeMove("finished", new MoveRequest("Player2", "PAPER"));
+            Game series = new Game("series", "Player1", 3);
+            series.join("Player2");
+            store.save(series);  // Evicts "evicted", the first to expire
+            service.makeMove("series", new MoveRequest("Player1", "ROCK"));
+            service.makeMove("series", new MoveRequest("Player2", "SCISSORS"));
+        }
+
+        try (InMemoryGameStore store = new InMemoryGameStore(policy, GameArchiver.NONE, 1000,
+                new GameLog(directory, 1 << 20, GameLog.FsyncPolicy.ALWAYS, 10))) {
+            assertEquals(2, store.size());
+            assertNull(store.get("evicted"));
+            Game series = store.get("series");
+            assertEquals(1, series.getPlayer1Score());
+            assertEquals("SCISSORS", series.getRounds().get(0).getPlayer2Move());
+            Game finished = store.get("finished");
+            assertEquals(GameStatus.FINISHED, finished.getStatus());
+            assertEquals("PAPER", finished.getPlayer2Move());
+            assertEquals("Player2", finished.getWinnerName());
+        }
+    }
+
+    private static GameService newService(GameStore store) {
+        GameEventLogger eventLogger = new GameEventLogger(null, 1.0, 16);
+        return new GameService(store, new StandardGameRule(), new SnowflakeGameIdGenerator(0),
+                eventLogger, new GameUpdatePublisher(new ObjectMapper().writer()),
+                new PlayerStatistics(10), new BotPlayer(List.of(new RandomBotStrategy())),
+                new GameMetrics(new SimpleMeterRegistry(), store, eventLogger), new GameResponseCache(new ObjectMapper().writer()),
+                new RateLimiter(0, 1, 1));
+    }
+
+    private static Game newGame(String id) {
+        return new Game(id, "Player1");
+    }
+
+    private static void createGames(GameStore store) {
+        for (int i = 0; i < GAMES; i++) {
+            store.save(newGame("game-" + i));
+        }
+    }
+
+    // Runs the given number of tasks on a thread pool, all released at the same moment
+    private static void runConcurrently(int tasks, Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < tasks; i++) {
+                int taskNumber = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(taskNumber);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface Task {
+        void run(int taskNumber) throws Exception;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MatchmakingController.class)
+@Import(GameConfiguration.class)
+public class MatchmakingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void shouldMatchTwoPlayers() throws Exception {
+        String waiting = mockMvc.perform(post("/api/matchmaking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player1\", \"rating\": 1500}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String ticketId = objectMapper.readTree(waiting).get("ticketId").asText();
+
+        mockMvc.perform(post("/api/matchmaking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Player2\", \"rating\": 1510}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("MATCHED"));
+
+        mockMvc.perform(get("/api/matchmaking/" + ticketId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("MATCHED"))
+                .andExpect(jsonPath("$.gameId").exists());
+        mockMvc.perform(delete("/api/matchmaking/" + ticketId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Ticket already matched or expired"));
+    }
+
+    @Test
+    public void shouldRejectRatingThatIsNotANumber() throws Exception {
+        mockMvc.perform(post("/api/matchmaking")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Bad\", \"rating\": \"high\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldReturnTicketNotFound() throws Exception {
+        mockMvc.perform(get("/api/matchmaking/ticket-missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Ticket not found"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakingServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final InMemoryGameStore store = new InMemoryGameStore();
+    private final MatchmakingService matchmaking = new MatchmakingService(store, new SnowflakeGameIdGenerator(0),
+            new GameEventLogger(null, 1.0, 16), 100, 30_000, 60_000, 1000, clock::get);
+
+    @AfterEach
+    void tearDown() {
+        matchmaking.close();
+    }
+
+    @Test
+    void shouldPairTwoPlayersIntoGameInProgress() {
+        MatchTicket first = findMatch(new MatchRequest("Player1"));
+        assertEquals(MatchStatus.WAITING, first.getStatus());
+        assertNull(first.getGameId());
+
+        MatchTicket second = findMatch(new MatchRequest("Player2"));
+        assertEquals(MatchStatus.MATCHED, second.getStatus());
+
+        Game game = store.get(second.getGameId());
+        assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+        assertEquals("Player1", game.getPlayer1());
+        assertEquals("Player2", game.getPlayer2());
+        MatchTicket polled = (MatchTicket) matchmaking.getTicket(first.getTicketId()).getBody();
+        assertEquals(MatchStatus.MATCHED, polled.getStatus());
+        assertEquals(game.getId(), polled.getGameId());
+    }
+
+    @Test
+    void shouldOnlyPairPlayersInSameRatingBand() {
+        MatchTicket low = findMatch(new MatchRequest("Low", 1150));
+        MatchTicket high = findMatch(new MatchRequest("High", 1420));
+        MatchTicket unrated = findMatch(new MatchRequest("Unrated"));
+        assertEquals(MatchStatus.WAITING, low.getStatus());
+        assertEquals(MatchStatus.WAITING, high.getStatus());
+        assertEquals(MatchStatus.WAITING, unrated.getStatus());
+
+        MatchTicket alsoLow = findMatch(new MatchRequest("AlsoLow", 1199));
+
+        assertEquals(MatchStatus.MATCHED, alsoLow.getStatus());
+        assertEquals("Low", store.get(alsoLow.getGameId()).getPlayer1());
+    }
+
+    @Test
+    void shouldClampRatingsToEdgeBands() {
+        MatchTicket veryHigh = findMatch(new MatchRequest("VeryHigh", 1000000));
+        assertEquals(MatchStatus.WAITING, veryHigh.getStatus());
+
+        assertEquals(MatchStatus.MATCHED, findMatch(new MatchRequest("EvenHigher", 2000000000)).getStatus());
+        assertEquals(MatchStatus.WAITING, findMatch(new MatchRequest("Negative", -50)).getStatus());
+        assertEquals(MatchStatus.MATCHED, findMatch(new MatchRequest("Zero", 0)).getStatus());
+    }
+
+    @Test
+    void shouldNotPairPlayerWithThemselves() {
+        MatchTicket first = findMatch(new MatchRequest("Player1"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, matchmaking.findMatch(new MatchRequest("Player1")).getStatusCode());
+        assertEquals(MatchStatus.WAITING, ((MatchTicket) matchmaking.getTicket(first.getTicketId()).getBody()).getStatus());
+
+        // Once their own ticket is cancelled they may queue again
+        matchmaking.cancelTicket(first.getTicketId());
+        assertEquals(MatchStatus.WAITING, findMatch(new MatchRequest("Player1")).getStatus());
+    }
+
+    @Test
+    void shouldNotPairPlayerWithThemselvesUnderAnotherCase() {
+        // Games match player names ignoring case, so these are the same player
+        MatchTicket first = findMatch(new MatchRequest("Alice"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, matchmaking.findMatch(new MatchRequest("alice")).getStatusCode());
+        assertEquals(MatchStatus.WAITING, ((MatchTicket) matchmaking.getTicket(first.getTicketId()).getBody()).getStatus());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void shouldNotPairExpiredOrCancelledTickets() {
+        MatchTicket expired = findMatch(new MatchRequest("Slow"));
+        clock.addAndGet(31_000);
+        MatchTicket cancelled = findMatch(new MatchRequest("Impatient"));
+        assertEquals(MatchStatus.WAITING, cancelled.getStatus());
+        assertEquals(MatchStatus.EXPIRED, expired.getStatus());
+
+        assertEquals(MatchStatus.CANCELLED, ((MatchTicket) matchmaking.cancelTicket(cancelled.getTicketId()).getBody()).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, matchmaking.cancelTicket(cancelled.getTicketId()).getStatusCode());
+        assertEquals(MatchStatus.WAITING, findMatch(new MatchRequest("Player3")).getStatus());
+        assertEquals(0, store.size());
+
+        // Settled tickets are forgotten once the retention time has passed
+        clock.addAndGet(100_000);
+        matchmaking.expireDue();
+        matchmaking.expireDue();
+        assertEquals(HttpStatus.NOT_FOUND, matchmaking.getTicket(expired.getTicketId()).getStatusCode());
+    }
+
+    @Test
+    void shouldMatchEveryPlayerExactlyOnceUnderContention() throws Exception {
+        int players = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<MatchTicket>> results = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            String name = "Player" + i;
+            results.add(executor.submit(() -> findMatch(new MatchRequest(name))));
+        }
+        List<MatchTicket> tickets = new ArrayList<>();
+        for (Future<MatchTicket> result : results) {
+            tickets.add(result.get());
+        }
+        executor.shutdown();
+
+        Set<String> seated = new HashSet<>();
+        Set<String> gameIds = new HashSet<>();
+        for (MatchTicket ticket : tickets) {
+            assertEquals(MatchStatus.MATCHED, ticket.getStatus());
+            Game game = store.get(ticket.getGameId());
+            assertTrue(ticket.getName().equals(game.getPlayer1()) || ticket.getName().equals(game.getPlayer2()));
+            assertTrue(seated.add(ticket.getName()));
+            gameIds.add(game.getId());
+        }
+        assertEquals(players / 2, gameIds.size());
+        assertEquals(players / 2, store.size());
+    }
+
+    private MatchTicket findMatch(MatchRequest request) {
+        return (MatchTicket) matchmaking.findMatch(request).getBody();
+    }
+}
@@ -6,4 +6,33 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class MoveTest {
 
-}
\ No newline at end of file
+    @Test
+    void shouldLookUpClassicMovesInAnyCase() {
+        GameVariant classic = GameVariant.CLASSIC;
+
+        assertEquals(Move.ROCK.ordinal(), classic.indexOf("ROCK"));
+        assertEquals(Move.PAPER.ordinal(), classic.indexOf("paper"));
+        assertEquals(Move.SCISSORS.ordinal(), classic.indexOf("sCiSsOrS"));
+    }
+
+    @Test
+    void shouldRejectUnknownMovesWithoutThrowing() {
+        GameVariant classic = GameVariant.CLASSIC;
+
+        assertEquals(-1, classic.indexOf(""));
+        assertEquals(-1, classic.indexOf("ROCKS"));
+        assertEquals(-1, classic.indexOf("LIZARD"));
+        assertEquals(-1, classic.indexOf("x".repeat(10_000)));
+    }
+
+    @Test
+    void shouldLookUpEveryMoveOfLargeVariants() {
+        GameVariant cyclic = GameVariant.named("cyclic-127");
+
+        for (int i = 0; i < cyclic.size(); i++) {
+            assertEquals(i, cyclic.indexOf("move_" + (i + 1)));
+        }
+        assertEquals(-1, cyclic.indexOf("MOVE_128"));
+        assertEquals(GameVariant.named("rpsls").getMoves().indexOf("SPOCK"), GameVariant.named("rpsls").indexOf("Spock"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutcomeTableTest {
+
+    @Test
+    void shouldAgreeWithStandardRuleForEveryPair() {
+        GameRule rule = new StandardGameRule();
+        OutcomeTable table = OutcomeTable.of(rule);
+
+        for (Move move1 : Move.values()) {
+            for (Move move2 : Move.values()) {
+                assertEquals(Outcome.fromWinner(rule.determineWinner(move1, move2)), table.resolve(move1, move2));
+            }
+        }
+        assertEquals(Outcome.PLAYER1_WINS, table.resolve(Move.ROCK, Move.SCISSORS));
+        assertEquals(Outcome.PLAYER2_WINS, table.resolve(Move.ROCK, Move.PAPER));
+        assertEquals(Outcome.TIE, table.resolve(Move.PAPER, Move.PAPER));
+    }
+
+    @Test
+    void shouldBuildTableFromCustomRule() {
+        // Reversed rules: whatever would normally win loses
+        StandardGameRule standard = new StandardGameRule();
+        GameRule reversed = (move1, move2) -> standard.determineWinner(move2, move1);
+
+        OutcomeTable table = OutcomeTable.of(reversed);
+
+        assertEquals(Outcome.PLAYER2_WINS, table.resolve(Move.ROCK, Move.SCISSORS));
+        assertEquals(Outcome.TIE, table.resolve(Move.SCISSORS, Move.SCISSORS));
+    }
+
+    @Test
+    void shouldRejectUnknownWinner() {
+        GameRule broken = (move1, move2) -> "NOBODY";
+
+        assertThrows(IllegalArgumentException.class, () -> OutcomeTable.of(broken));
+    }
+
+    @Test
+    void shouldResolveRockPaperScissorsLizardSpock() {
+        GameVariant rpsls = GameVariant.named("rpsls");
+        OutcomeTable table = rpsls.getOutcomes();
+
+        assertEquals(Outcome.PLAYER1_WINS, table.resolve(rpsls.indexOf("ROCK"), rpsls.indexOf("LIZARD")));
+        assertEquals(Outcome.PLAYER1_WINS, table.resolve(rpsls.indexOf("PAPER"), rpsls.indexOf("SPOCK")));
+        assertEquals(Outcome.PLAYER2_WINS, table.resolve(rpsls.indexOf("SCISSORS"), rpsls.indexOf("SPOCK")));
+        assertEquals(Outcome.PLAYER2_WINS, table.resolve(rpsls.indexOf("LIZARD"), rpsls.indexOf("SCISSORS")));
+        // The classic moves play as they do in the classic game
+        GameRule classic = new StandardGameRule();
+        for (Move move1 : Move.values()) {
+            for (Move move2 : Move.values()) {
+                assertEquals(classic.outcome(move1, move2),
+                        table.resolve(rpsls.indexOf(move1.name()), rpsls.indexOf(move2.name())));
+            }
+        }
+    }
+
+    @Test
+    void shouldGiveEveryMoveOfCyclicGameAsManyWinsAsLosses() {
+        GameVariant variant = GameVariant.named("cyclic-101");
+        OutcomeTable table = variant.getOutcomes();
+
+        for (int move1 = 0; move1 < 101; move1++) {
+            int wins = 0;
+            for (int move2 = 0; move2 < 101; move2++) {
+                Outcome outcome = table.resolve(move1, move2);
+                if (move1 == move2) {
+                    assertEquals(Outcome.TIE, outcome);
+                } else {
+                    // Swapping the moves swaps the winner
+                    assertNotEquals(Outcome.TIE, outcome);
+                    assertNotEquals(outcome, table.resolve(move2, move1));
+                }
+                if (outcome == Outcome.PLAYER1_WINS) {
+                    wins++;
+                }
+            }
+            assertEquals(50, wins);
+        }
+        assertNull(GameVariant.named("cyclic-129"));
+        assertSame(variant, GameVariant.named("cyclic-101"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PlayerController.class)
+@Import(GameConfiguration.class)
+public class PlayerControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Test
+    public void shouldReturnPlayerStatsAndLeaderboard() throws Exception {
+        playGame("Winner", "ROCK", "Loser", "SCISSORS");
+        playGame("Winner", "PAPER", "Loser", "ROCK");
+
+        mockMvc.perform(get("/api/players/Winner/stats").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wins").value(2))
+                .andExpect(jsonPath("$.losses").value(0))
+                .andExpect(jsonPath("$.moves.ROCK").value(1));
+
+        mockMvc.perform(get("/api/players/leaderboard?limit=1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Winner"))
+                .andExpect(jsonPath("$[0].wins").value(2));
+    }
+
+    @Test
+    public void shouldReturnPlayerNotFoundForUnknownPlayer() throws Exception {
+        mockMvc.perform(get("/api/players/Nobody/stats").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Player not found"));
+    }
+
+    @Test
+    public void shouldRejectLeaderboardLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/api/players/leaderboard?limit=1000").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 100"));
+    }
+
+    private void playGame(String player1, String move1, String player2, String move2) {
+        String gameId = ((GameCreatedResponse) gameService.createGame(new CreateGameRequest(player1)).getBody()).id();
+        gameService.joinGame(gameId, new JoinGameRequest(player2));
+        gameService.makeMove(gameId, new MoveRequest(player1, move1));
+        gameService.makeMove(gameId, new MoveRequest(player2, move2));
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerStatisticsTest {
+
+    private static final OutcomeTable OUTCOMES = OutcomeTable.of(new StandardGameRule());
+
+    @Test
+    void shouldCountWinsLossesTiesAndMoves() {
+        PlayerStatistics statistics = new PlayerStatistics(10);
+
+        statistics.record(finishedGame("Alice", Move.ROCK, "Bob", Move.SCISSORS));
+        statistics.record(finishedGame("Bob", Move.PAPER, "Alice", Move.ROCK));
+        statistics.record(finishedGame("Alice", Move.PAPER, "Bob", Move.PAPER));
+
+        PlayerStats alice = statistics.get("Alice");
+        assertEquals(1, alice.getWins());
+        assertEquals(1, alice.getLosses());
+        assertEquals(1, alice.getTies());
+        assertEquals(3, alice.getGamesPlayed());
+        assertEquals(2, alice.getMoves().get("ROCK"));
+        assertEquals(1, alice.getMoves().get("PAPER"));
+        assertEquals(0, alice.getMoves().get("SCISSORS"));
+        assertNull(statistics.get("Carol"));
+    }
+
+    @Test
+    void shouldKeepOnlyTopPlayersRankedByWins() {
+        PlayerStatistics statistics = new PlayerStatistics(3);
+        for (int player = 0; player < 10; player++) {
+            for (int win = 0; win <= player; win++) {
+                statistics.record(finishedGame("Player" + player, Move.ROCK, "Loser", Move.SCISSORS));
+            }
+        }
+        // A player that drops out can climb back in
+        for (int win = 0; win < 20; win++) {
+            statistics.record(finishedGame("Player0", Move.ROCK, "Loser", Move.SCISSORS));
+        }
+
+        List<LeaderboardEntry> top = statistics.top(100);
+
+        assertEquals(List.of("Player0", "Player9", "Player8"), top.stream().map(LeaderboardEntry::getName).toList());
+        assertEquals(List.of(21L, 10L, 9L), top.stream().map(LeaderboardEntry::getWins).toList());
+        assertEquals(1, statistics.top(1).size());
+    }
+
+    @Test
+    void shouldNotLoseWinsRecordedConcurrently() throws Exception {
+        PlayerStatistics statistics = new PlayerStatistics(5);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8000; i++) {
+            String winner = "Player" + (i % 8);
+            executor.execute(() -> statistics.record(finishedGame(winner, Move.PAPER, "Loser", Move.ROCK)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        List<LeaderboardEntry> top = statistics.top(5);
+        assertEquals(5, top.size());
+        for (LeaderboardEntry entry : top) {
+            assertEquals(1000, entry.getWins());
+        }
+        assertEquals(8000, statistics.get("Loser").getLosses());
+    }
+
+    @Test
+    void shouldMatchNamesIgnoringCaseAndLeaveOutTheBot() {
+        PlayerStatistics statistics = new PlayerStatistics(10);
+        statistics.record(finishedGame("Alice", Move.ROCK, "Bob", Move.SCISSORS));
+        statistics.record(finishedGame("bob", Move.ROCK, "alice", Move.PAPER));
+
+        Game botGame = new Game("game", "Alice");
+        botGame.join(BotPlayer.NAME, 1);
+        botGame.play(true, Move.ROCK, OUTCOMES);
+        botGame.play(false, Move.PAPER, OUTCOMES);
+        statistics.record(botGame);
+
+        assertEquals(2, statistics.get("ALICE").getWins());
+        assertEquals(1, statistics.get("ALICE").getLosses());
+        assertEquals("Alice", statistics.get("alice").getName());
+        assertEquals(2, statistics.get("Bob").getLosses());
+        assertNull(statistics.get(BotPlayer.NAME));
+        assertEquals(List.of("Alice"), statistics.top(10).stream().map(LeaderboardEntry::getName).toList());
+    }
+
+    @Test
+    void shouldCountMovesOfEveryRoundOfASeries() {
+        PlayerStatistics statistics = new PlayerStatistics(10);
+        Game game = new Game("game", "Alice", 3);
+        game.join("Bob");
+        game.play(true, Move.ROCK, OUTCOMES);
+        game.play(false, Move.SCISSORS, OUTCOMES);
+        game.play(true, Move.PAPER, OUTCOMES);
+        game.play(false, Move.ROCK, OUTCOMES);
+        statistics.record(game);
+
+        assertEquals(1, statistics.get("Alice").getGamesPlayed());
+        assertEquals(1, statistics.get("Alice").getMoves().get("ROCK"));
+        assertEquals(1, statistics.get("Alice").getMoves().get("PAPER"));
+        assertEquals(1, statistics.get("Bob").getMoves().get("SCISSORS"));
+        assertEquals(1, statistics.get("Bob").getMoves().get("ROCK"));
+    }
+
+    @Test
+    void shouldDropLeastRecentPlayersButKeepTheLeaderboard() {
+        PlayerStatistics statistics = new PlayerStatistics(1, 8, Runnable::run);
+        for (int i = 0; i < 3; i++) {
+            statistics.record(finishedGame("Champion", Move.ROCK, "Loser" + i, Move.SCISSORS));
+        }
+        for (int i = 3; i < 100; i++) {
+            statistics.record(finishedGame("Player" + i, Move.ROCK, "Loser" + i, Move.ROCK));
+            assertTrue(statistics.size() <= 9);
+        }
+
+        assertEquals(3, statistics.get("Champion").getWins());
+        assertNull(statistics.get("Loser0"));
+        assertNotNull(statistics.get("Loser99"));
+        assertEquals("Champion", statistics.top(1).get(0).getName());
+    }
+
+    private static Game finishedGame(String player1, Move move1, String player2, Move move2) {
+        Game game = new Game("game", player1);
+        game.join(player2);
+        game.play(true, move1, OUTCOMES);
+        game.play(false, move2, OUTCOMES);
+        return game;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldAllowBurstThenRefillAtRate() {
+        RateLimiter limiter = new RateLimiter(10, 3, 100, now::get, Runnable::run);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("Player1"));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.tryAcquire("Player1"));
+        assertEquals(0, limiter.tryAcquire("Player2"));  // Every key has its own bucket
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, limiter.tryAcquire("Player1"));
+        assertTrue(limiter.tryAcquire("Player1") > 0);
+    }
+
+    @Test
+    void shouldStayBoundedUnderManyDistinctKeys() {
+        RateLimiter limiter = new RateLimiter(10, 3, 1000, now::get, Runnable::run);
+
+        for (int i = 0; i < 100_000; i++) {
+            limiter.tryAcquire("10.0." + (i >> 8) + "." + (i & 255));
+            assertTrue(limiter.size() <= 1000);
+        }
+    }
+
+    @Test
+    void shouldKeepTheMostLimitedKeysWhenEvicting() {
+        RateLimiter limiter = new RateLimiter(1, 3, 4, now::get, Runnable::run);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("Spammer");
+        }
+        for (int i = 1; i <= 4; i++) {
+            limiter.tryAcquire("Player" + i);  // The fifth key evicts two of the least used
+        }
+
+        assertEquals(3, limiter.size());
+        assertTrue(limiter.tryAcquire("Spammer") > 0);
+    }
+
+    @Test
+    void shouldLeaveEvictionToTheSweeper() {
+        List<Runnable> sweeps = new ArrayList<>();
+        RateLimiter limiter = new RateLimiter(1, 3, 4, now::get, sweeps::add);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(0, limiter.tryAcquire("Player" + i));
+        }
+
+        // The requests only asked for a sweep, once
+        assertEquals(8, limiter.size());
+        assertEquals(1, sweeps.size());
+        sweeps.get(0).run();
+        assertEquals(3, limiter.size());
+    }
+
+    @Test
+    void shouldNotLimitAtZeroRate() {
+        RateLimiter limiter = new RateLimiter(0, 1, 1, now::get, Runnable::run);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire("Player1"));
+        }
+        assertEquals(0, limiter.size());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.rockpaperscissors;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Same scenarios as GameControllerTest, served by WebFlux on Netty
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveGameRoutesTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldCreateGameSuccessfully() {
+        post("/api/games", "{\"name\": \"Player1\"}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").value(startsWith("game-"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenPlayerNameIsMissing() {
+        post("/api/games", "{}")
+                .expectStatus().isBadRequest()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.message").isEqualTo("Player name is required");
+    }
+
+    @Test
+    void shouldJoinGameSuccessfully() {
+        String gameId = createGame();
+
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(gameId).jsonPath("$.player").isEqualTo("Player2");
+    }
+
+    @Test
+    void shouldReturnGameNotFoundWhenJoiningNonExistentGame() {
+        post("/api/games/non-existent-game-id/join", "{\"name\": \"Player2\"}")
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.message").isEqualTo("Game not found");
+    }
+
+    @Test
+    void shouldMakeMoveSuccessfully() {
+        String gameId = createGame();
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}").expectStatus().isOk();
+
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player1\", \"move\": \"ROCK\"}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo(gameId).jsonPath("$.player").isEqualTo("Player1");
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenInvalidMoveIsMade() {
+        String gameId = createGame();
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}").expectStatus().isOk();
+
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player1\", \"move\": \"INVALID_MOVE\"}")
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Invalid move. Must be Rock, Paper, or Scissors.");
+    }
+
+    @Test
+    void shouldReturnFinishedGameState() {
+        String gameId = createGame();
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player1\", \"move\": \"ROCK\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player2\", \"move\": \"PAPER\"}").expectStatus().isOk();
+
+        webTestClient.get().uri("/api/games/" + gameId).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("FINISHED")
+                .jsonPath("$.winnerName").isEqualTo("Player2");
+    }
+
+    @Test
+    void shouldReturnNotModifiedForFinishedGameTheClientHas() {
+        String gameId = createGame();
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}").expectStatus().isOk();
+        webTestClient.get().uri("/api/games/" + gameId).exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.ETAG);
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player1\", \"move\": \"ROCK\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player2\", \"move\": \"PAPER\"}").expectStatus().isOk();
+
+        String etag = webTestClient.get().uri("/api/games/" + gameId).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().jsonPath("$.status").isEqualTo("FINISHED")
+                .returnResult().getResponseHeaders().getETag();
+        webTestClient.get().uri("/api/games/" + gameId).header(HttpHeaders.IF_NONE_MATCH, etag).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void shouldStreamGameStateUntilGameFinishes() {
+        String gameId = createGame();
+        Flux<String> events = webTestClient.get().uri("/api/games/" + gameId + "/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody();
+
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player1\", \"move\": \"ROCK\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player2\", \"move\": \"PAPER\"}").expectStatus().isOk();
+
+        // The stream ends by itself once the game is finished
+        List<String> states = events.collectList().block(Duration.ofSeconds(10));
+        assertTrue(states.get(0).contains("\"status\":\"WAITING\""));
+        assertTrue(states.get(states.size() - 1).contains("\"winnerName\":\"Player2\""));
+    }
+
+    @Test
+    void shouldNotTimeStreamsAsGets() {
+        String gameId = createGame();
+        double gets = meterRegistry.get("game.requests").tag("operation", "get").timer().count();
+
+        webTestClient.get().uri("/api/games/" + gameId + "/events")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseBody()
+                .blockFirst(Duration.ofSeconds(10));
+        webTestClient.get().uri("/api/games/non-existent-game-id/events").exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo("Game not found");
+
+        assertEquals(gets, meterRegistry.get("game.requests").tag("operation", "get").timer().count());
+    }
+
+    @Test
+    void shouldPlayGamesInBatches() {
+        post("/api/games/batch", "[{\"name\": \"Player1\"}, {}]")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[1].body.message").isEqualTo("Player name is required");
+
+        String gameId = createGame();
+        post("/api/games/batch/join", "[{\"id\": \"" + gameId + "\", \"name\": \"Player2\"}]")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].status").isEqualTo(200);
+        post("/api/games/batch/move", "[{\"id\": \"" + gameId + "\", \"name\": \"Player1\", \"move\": \"ROCK\"},"
+                + " {\"id\": \"" + gameId + "\", \"name\": \"Player2\", \"move\": \"PAPER\"}]")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[1].status").isEqualTo(200);
+
+        webTestClient.get().uri("/api/games/" + gameId).exchange()
+                .expectBody().jsonPath("$.winnerName").isEqualTo("Player2");
+    }
+
+    @Test
+    void shouldReturnPlayerStatsAndLeaderboard() {
+        String gameId = createGame();
+        post("/api/games/" + gameId + "/join", "{\"name\": \"Player2\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player1\", \"move\": \"ROCK\"}").expectStatus().isOk();
+        post("/api/games/" + gameId + "/move", "{\"name\": \"Player2\", \"move\": \"PAPER\"}").expectStatus().isOk();
+
+        webTestClient.get().uri("/api/players/Player2/stats").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.moves.PAPER").value(greaterThanOrEqualTo(1));
+        webTestClient.get().uri("/api/players/leaderboard?limit=5").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").isEqualTo("Player2");
+        webTestClient.get().uri("/api/players/leaderboard?limit=abc").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldMatchTwoPlayers() {
+        post("/api/matchmaking", "{\"name\": \"Player1\", \"rating\": 900}")
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.status").isEqualTo("WAITING");
+        post("/api/matchmaking", "{\"name\": \"Player2\", \"rating\": 950}")
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("MATCHED")
+                .jsonPath("$.gameId").exists();
+    }
+
+    @Test
+    void shouldPlayRoom() {
+        String roomId = post("/api/rooms", "{\"name\": \"Alice\"}")
+                .expectStatus().isOk()
+                .expectBody(RoomState.class).returnResult().getResponseBody().getId();
+        post("/api/rooms/" + roomId + "/join", "{\"name\": \"Bob\"}").expectStatus().isOk();
+        post("/api/rooms/" + roomId + "/start", "{\"name\": \"Alice\"}").expectStatus().isOk();
+        post("/api/rooms/" + roomId + "/move", "{\"name\": \"Alice\", \"move\": \"ROCK\"}").expectStatus().isOk();
+        post("/api/rooms/" + roomId + "/move", "{\"name\": \"Bob\", \"move\": \"PAPER\"}").expectStatus().isOk();
+
+        webTestClient.get().uri("/api/rooms/" + roomId).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.winnerName").isEqualTo("Bob");
+    }
+
+    private String createGame() {
+        return post("/api/games", "{\"name\": \"Player1\"}")
+                .expectStatus().isOk()
+                .expectBody(GameCreatedResponse.class).returnResult().getResponseBody().id();
+    }
+
+    private WebTestClient.ResponseSpec post(String uri, String json) {
+        return webTestClient.post().uri(uri)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(json)
+                .exchange();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.rockpaperscissors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RoomController.class)
+@Import(GameConfiguration.class)
+public class RoomControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void shouldPlayRoomUntilOnePlayerIsLeft() throws Exception {
+        String created = mockMvc.perform(post("/api/rooms")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Alice\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String roomId = objectMapper.readTree(created).get("id").asText();
+
+        for (String player : new String[] {"Bob", "Carol"}) {
+            mockMvc.perform(post("/api/rooms/" + roomId + "/join")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\": \"" + player + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(roomId))
+                    .andExpect(jsonPath("$.player").value(player));
+        }
+        mockMvc.perform(post("/api/rooms/" + roomId + "/start")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Alice\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.round").value(1));
+        String[][] moves = {{"Alice", "SCISSORS"}, {"Bob", "PAPER"}, {"Carol", "PAPER"}};
+        for (String[] move : moves) {
+            mockMvc.perform(post("/api/rooms/" + roomId + "/move")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\": \"" + move[0] + "\", \"move\": \"" + move[1] + "\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.player").value(move[0]));
+        }
+
+        mockMvc.perform(get("/api/rooms/" + roomId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FINISHED"))
+                .andExpect(jsonPath("$.winnerName").value("Alice"))
+                .andExpect(jsonPath("$.lastRound.moves.PAPER").value(2))
+                .andExpect(jsonPath("$.lastRound.eliminated.length()").value(2));
+    }
+
+    @Test
+    public void shouldReturnRoomNotFound() throws Exception {
+        mockMvc.perform(get("/api/rooms/room-missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Room not found"));
+    }
+}
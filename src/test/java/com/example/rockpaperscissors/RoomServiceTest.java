@@ -0,0 +1,176 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final RoomService rooms = new RoomService(new GameEventLogger(null, 1.0, 16), 1000, 60_000, 1000, clock::get);
+
+    @AfterEach
+    void tearDown() {
+        rooms.close();
+    }
+
+    @Test
+    void shouldKnockOutEveryPlayerWhoseMoveIsBeaten() {
+        String id = openRoom(null, "Alice", "Bob", "Carol", "Dave");
+        move(id, "Alice", "ROCK");
+        move(id, "Bob", "SCISSORS");
+        move(id, "Carol", "ROCK");
+        assertEquals(3, state(id).getMoved());
+        move(id, "Dave", "SCISSORS");
+
+        RoomState state = state(id);
+        assertEquals(GameStatus.IN_PROGRESS, state.getStatus());
+        assertEquals(2, state.getRound());
+        assertEquals(List.of("Alice", "Carol"), state.getPlayers());
+        assertEquals(Map.of("ROCK", 2, "SCISSORS", 2), state.getLastRound().getMoves());
+        assertEquals(List.of("Bob", "Dave"), state.getLastRound().getEliminated());
+
+        // Knocked-out players cannot throw again
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.makeMove(id, new MoveRequest("Bob", "ROCK")).getStatusCode());
+
+        move(id, "Alice", "PAPER");
+        move(id, "Carol", "ROCK");
+        state = state(id);
+        assertEquals(GameStatus.FINISHED, state.getStatus());
+        assertEquals("Alice", state.getWinnerName());
+    }
+
+    @Test
+    void shouldReplayRoundWhenEveryMoveIsThrownOrOnlyOne() {
+        String id = openRoom(null, "Alice", "Bob", "Carol");
+        move(id, "Alice", "ROCK");
+        move(id, "Bob", "PAPER");
+        move(id, "Carol", "SCISSORS");
+        assertEquals(List.of(), state(id).getLastRound().getEliminated());
+
+        move(id, "Alice", "ROCK");
+        move(id, "Bob", "ROCK");
+        move(id, "Carol", "ROCK");
+        RoomState state = state(id);
+        assertEquals(3, state.getRound());
+        assertEquals(3, state.getPlayers().size());
+    }
+
+    @Test
+    void shouldOnlyKnockOutMovesBeatenInRockPaperScissorsLizardSpock() {
+        // Paper beats Rock and Spock and nothing thrown beats Paper, so only the Paper players stay
+        String id = openRoom("rpsls", "Alice", "Bob", "Carol", "Dave");
+        move(id, "Alice", "ROCK");
+        move(id, "Bob", "PAPER");
+        move(id, "Carol", "SPOCK");
+        move(id, "Dave", "paper");
+
+        assertEquals(List.of("Bob", "Dave"), state(id).getPlayers());
+    }
+
+    @Test
+    void shouldResolveLargeRoomWhenPlayersThrowConcurrently() throws Exception {
+        int players = 900;
+        String[] names = new String[players];
+        for (int i = 0; i < players; i++) {
+            names[i] = "Player" + i;
+        }
+        String id = openRoom(null, names);
+
+        // One player throws Paper and everyone else Rock, all at the same moment
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < players; i++) {
+                String name = names[i];
+                String move = (i == 123) ? "PAPER" : "ROCK";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    assertEquals(HttpStatus.OK, rooms.makeMove(id, new MoveRequest(name, move)).getStatusCode());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        RoomState state = state(id);
+        assertEquals(GameStatus.FINISHED, state.getStatus());
+        assertEquals("Player123", state.getWinnerName());
+        assertEquals(Map.of("ROCK", players - 1, "PAPER", 1), state.getLastRound().getMoves());
+    }
+
+    @Test
+    void shouldRejectJoiningStartedRoomAndStartByOthers() {
+        String id = ((RoomState) rooms.createRoom(new CreateRoomRequest("Alice")).getBody()).getId();
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.startRoom(id, new RoomPlayerRequest("Alice")).getStatusCode());
+        rooms.joinRoom(id, new RoomPlayerRequest("Bob"));
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.joinRoom(id, new RoomPlayerRequest("Bob")).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.startRoom(id, new RoomPlayerRequest("Bob")).getStatusCode());
+        assertEquals(HttpStatus.OK, rooms.startRoom(id, new RoomPlayerRequest("Alice")).getStatusCode());
+
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.joinRoom(id, new RoomPlayerRequest("Carol")).getStatusCode());
+        move(id, "Alice", "ROCK");
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.makeMove(id, new MoveRequest("Alice", "PAPER")).getStatusCode());
+    }
+
+    @Test
+    void shouldRequireNameToStartAndMatchNamesIgnoringCase() {
+        String id = ((RoomState) rooms.createRoom(new CreateRoomRequest("Alice")).getBody()).getId();
+        assertEquals(HttpStatus.OK, rooms.joinRoom(id, new RoomPlayerRequest("Bob")).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, rooms.joinRoom(id, new RoomPlayerRequest("BOB")).getStatusCode());
+
+        ResponseEntity<?> nameless = rooms.startRoom(id, new RoomPlayerRequest(null));
+        assertEquals(HttpStatus.BAD_REQUEST, nameless.getStatusCode());
+        assertEquals("Player name is required", ((ErrorResponse) nameless.getBody()).getMessage());
+
+        assertEquals(HttpStatus.OK, rooms.startRoom(id, new RoomPlayerRequest("alice")).getStatusCode());
+        move(id, "ALICE", "ROCK");
+        move(id, "bob", "PAPER");
+        assertEquals("Bob", state(id).getWinnerName());
+    }
+
+    @Test
+    void shouldForgetRoomsAfterTtl() {
+        String id = openRoom(null, "Alice", "Bob");
+
+        clock.addAndGet(62_000);
+        rooms.expireDue();
+
+        assertEquals(HttpStatus.NOT_FOUND, rooms.getRoom(id).getStatusCode());
+    }
+
+    private String openRoom(String variant, String... players) {
+        String id = ((RoomState) rooms.createRoom(new CreateRoomRequest(players[0], variant)).getBody()).getId();
+        for (int i = 1; i < players.length; i++) {
+            assertEquals(HttpStatus.OK, rooms.joinRoom(id, new RoomPlayerRequest(players[i])).getStatusCode());
+        }
+        assertEquals(HttpStatus.OK, rooms.startRoom(id, new RoomPlayerRequest(players[0])).getStatusCode());
+        return id;
+    }
+
+    private void move(String id, String player, String move) {
+        assertEquals(HttpStatus.OK, rooms.makeMove(id, new MoveRequest(player, move)).getStatusCode());
+    }
+
+    private RoomState state(String id) {
+        return (RoomState) rooms.getRoom(id).getBody();
+    }
+}
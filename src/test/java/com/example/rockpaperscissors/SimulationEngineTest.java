@@ -0,0 +1,48 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+
+    @Test
+    void shouldGiveSameResultForSeedWhateverThePoolSize() {
+        SimulationResult single = run(1, 42);
+        SimulationResult four = run(4, 42);
+
+        assertEquals(single.toString(), four.toString());
+        assertNotEquals(single.toString(), run(4, 43).toString());
+    }
+
+    @Test
+    void shouldCountEveryRoundAndMatch() {
+        SimulationResult result = run(2, 7);
+
+        assertEquals(5000, result.getMatches());
+        assertEquals(5000 * 30, result.getRounds());
+        assertEquals(result.getRounds(), result.getPlayer1Rounds() + result.getPlayer2Rounds() + result.getTiedRounds());
+        assertTrue(result.getTiedMatches() >= 0);
+    }
+
+    @Test
+    void shouldLetMarkovBotBeatPredictableFrequencyBot() {
+        // The frequency bot counters the Markov bot's favourite move, which the Markov bot sees coming
+        SimulationResult result = new SimulationEngine(ForkJoinPool.commonPool()).run(new StandardGameRule(),
+                new MarkovBotStrategy(), new FrequencyBotStrategy(), 2000, 50, 1);
+
+        assertTrue(result.getPlayer1Rounds() > result.getPlayer2Rounds(), result::toString);
+    }
+
+    private static SimulationResult run(int threads, long seed) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new SimulationEngine(pool).run(new StandardGameRule(),
+                    new MarkovBotStrategy(), new RandomBotStrategy(), 5000, 30, seed);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeGameIdGeneratorTest {
+
+    @Test
+    void shouldGenerateStrictlyIncreasingIds() {
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(1);
+
+        long previous = generator.nextLong();
+        // Far more than 4096 per millisecond, so the sequence has to carry over
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextLong();
+            assertTrue(next > previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldNotCollideAcrossThreads() throws Exception {
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(7);
+        int threads = 4;
+        int idsPerThread = 250_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            Callable<long[]> task = () -> {
+                long[] ids = new long[idsPerThread];
+                for (int i = 0; i < idsPerThread; i++) {
+                    ids[i] = generator.nextLong();
+                }
+                return ids;
+            };
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(task));
+            }
+
+            Set<Long> unique = new HashSet<>();
+            for (Future<long[]> result : results) {
+                for (long id : result.get()) {
+                    assertTrue(unique.add(id), "Duplicate ID " + id);
+                }
+            }
+            assertEquals(threads * idsPerThread, unique.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldEncodeIdsAsFixedWidthBase62InSameOrder() {
+        assertEquals("game-00000000000", SnowflakeGameIdGenerator.encode(0));
+        assertEquals("game-0000000000z", SnowflakeGameIdGenerator.encode(61));
+        assertEquals("game-00000000010", SnowflakeGameIdGenerator.encode(62));
+        assertEquals("game-AzL8n0Y58m7", SnowflakeGameIdGenerator.encode(Long.MAX_VALUE));
+
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(0);
+        String first = generator.nextId();
+        String second = generator.nextId();
+        assertTrue(first.compareTo(second) < 0);
+    }
+
+    @Test
+    void shouldDecodeIdsAndTheirCreationTime() {
+        assertEquals(Long.MAX_VALUE, SnowflakeGameIdGenerator.decode("game-AzL8n0Y58m7"));
+        assertEquals(-1, SnowflakeGameIdGenerator.decode("game-0000000000!"));
+        assertEquals(-1, SnowflakeGameIdGenerator.decode("non-existent-game-id"));
+
+        SnowflakeGameIdGenerator generator = new SnowflakeGameIdGenerator(3);
+        long before = System.currentTimeMillis();
+        long createdAt = generator.createdAt(generator.nextId());
+        assertTrue(createdAt >= before && createdAt <= System.currentTimeMillis());
+    }
+
+    @Test
+    void shouldRejectNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeGameIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeGameIdGenerator(1024));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.rockpaperscissors;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void shouldPollEarliestDeadlineAcrossRevolutions() {
+        TimerWheel wheel = new TimerWheel(1000, 4, 0);
+        wheel.schedule("later-lap", 9_000);  // Same bucket as tick 1, two revolutions on
+        wheel.schedule("soon", 2_500);
+        wheel.schedule("sooner", 2_100);
+        wheel.schedule("far", 20_000);
+
+        assertEquals("sooner", wheel.pollEarliest().id);
+        assertEquals("soon", wheel.pollEarliest().id);
+        assertEquals("later-lap", wheel.pollEarliest().id);
+        assertEquals("far", wheel.pollEarliest().id);
+        assertNull(wheel.pollEarliest());
+    }
+}